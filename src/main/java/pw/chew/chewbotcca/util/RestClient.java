@@ -21,13 +21,32 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.LoggerFactory;
+import pw.chew.mlb.util.CircuitBreaker;
+import pw.chew.mlb.util.RateWindow;
+import pw.chew.mlb.util.TokenBucket;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 /**
  * Off brand RestClient based on the ruby gem of the same name
@@ -47,6 +66,76 @@ public class RestClient {
         .expireAfterWrite(Duration.ofSeconds(10))
         .build();
 
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong cacheMisses = new AtomicLong();
+    private static final AtomicLong coalesced = new AtomicLong();
+    private static final AtomicLong streamed = new AtomicLong();
+    /**
+     * Requests that are on their way, so identical ones can wait for them instead of being sent again
+     */
+    private static final Map<InFlightKey, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Successful responses, kept around much longer to serve when the rate limit runs out
+     */
+    private static final Cache<URI, Response> stale = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterWrite(Duration.ofMinutes(15))
+        .build();
+
+    /**
+     * Requests that actually went out over the network in the last minute, per second.
+     */
+    public static final RateWindow outgoing = new RateWindow(60);
+
+    /// RATE LIMITING ///
+    private static volatile TokenBucket limiter = new TokenBucket(20, 40);
+    private static final Map<Priority, LaneStats> laneStats = new EnumMap<>(Priority.class);
+    static {
+        for (Priority priority : Priority.values()) {
+            laneStats.put(priority, new LaneStats());
+        }
+    }
+
+    /// CIRCUIT BREAKING ///
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private static final List<BiConsumer<String, CircuitBreaker.State>> circuitListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Gets the circuit breaker for a host. Five failed requests in a row open it for 15 seconds, doubling up to
+     * two minutes while the host stays down.
+     *
+     * @param host the host, e.g. "statsapi.mlb.com"
+     * @return the circuit breaker
+     */
+    public static CircuitBreaker breaker(String host) {
+        return breakers.computeIfAbsent(host, h -> new CircuitBreaker(5, Duration.ofSeconds(15), Duration.ofMinutes(2), state -> {
+            LoggerFactory.getLogger(RestClient.class).warn("Circuit for {} is now {}", h, state);
+            for (BiConsumer<String, CircuitBreaker.State> listener : circuitListeners) {
+                listener.accept(h, state);
+            }
+        }));
+    }
+
+    /**
+     * Adds a listener that is called whenever a host's circuit changes state.
+     *
+     * @param listener the listener, given the host and its new state
+     */
+    public static void onCircuitChange(BiConsumer<String, CircuitBreaker.State> listener) {
+        circuitListeners.add(listener);
+    }
+
+    /**
+     * Replaces the outbound rate limit. Set from "rest.rateLimit.*" in bot.properties.
+     *
+     * @param perSecond How many requests may be made per second on average
+     * @param burst How many requests may be made at once
+     */
+    public static void setRateLimit(double perSecond, int burst) {
+        limiter = new TokenBucket(perSecond, burst);
+    }
+
     /**
      * Make a GET request
      *
@@ -57,6 +146,109 @@ public class RestClient {
      * @return a String response
      */
     public static Response get(String url, String ...headers) {
+        return get(Priority.INTERACTIVE, url, headers);
+    }
+
+    /**
+     * Make a GET request in the given priority lane
+     *
+     * @param priority the lane this request is in
+     * @param url the url to get
+     * @param headers Optional set of headers as "Header: Value" like "Authorization: Bearer bob"
+     * @throws IllegalArgumentException If an invalid header is passed
+     * @throws RateLimitedException If the rate limit ran out and there is nothing stale to serve
+     * @throws RuntimeException If the request fails
+     * @return a String response
+     */
+    public static Response get(Priority priority, String url, String ...headers) {
+        return performRequest(buildGet(url, headers), true, priority);
+    }
+
+    /**
+     * Make a GET request, skipping the cache lookup. The response is still cached for other callers.
+     * Use this when polling faster than the cache expires. These requests are in the {@link Priority#LIVE} lane.
+     *
+     * @param url the url to get
+     * @param headers Optional set of headers as "Header: Value" like "Authorization: Bearer bob"
+     * @throws IllegalArgumentException If an invalid header is passed
+     * @throws RuntimeException If the request fails
+     * @return a String response
+     */
+    public static Response getFresh(String url, String ...headers) {
+        return performRequest(buildGet(url, headers), false, Priority.LIVE);
+    }
+
+    /**
+     * Make a GET request, and read the response as it arrives instead of holding all of it in memory first.
+     * Streamed responses aren't cached or shared with identical requests. These requests are in the
+     * {@link Priority#LIVE} lane.
+     *
+     * @param url the url to get
+     * @param headers Optional set of headers as "Header: Value" like "Authorization: Bearer bob"
+     * @throws IllegalArgumentException If an invalid header is passed
+     * @throws RuntimeException If the request fails
+     * @return a streamed response, which must be closed
+     */
+    public static StreamedResponse stream(String url, String ...headers) {
+        return stream(Priority.LIVE, url, headers);
+    }
+
+    /**
+     * Make a GET request in the given priority lane, and read the response as it arrives instead of holding all of
+     * it in memory first. Streamed responses aren't cached or shared with identical requests.
+     * <br>
+     * A streamed body can only be read once, by whoever holds it, so sharing it would mean holding all of it in
+     * memory after all. Nothing is lost by not sharing it either, streams are used for live feeds, which only the
+     * game's own poll requests.
+     *
+     * @param priority the lane this request is in
+     * @param url the url to get
+     * @param headers Optional set of headers as "Header: Value" like "Authorization: Bearer bob"
+     * @throws IllegalArgumentException If an invalid header is passed
+     * @throws RateLimitedException If the rate limit ran out and there is nothing stale to serve
+     * @throws RuntimeException If the request fails
+     * @return a streamed response, which must be closed
+     */
+    public static StreamedResponse stream(Priority priority, String url, String ...headers) {
+        HttpRequest request = buildGet(url, headers);
+        CircuitBreaker breaker = breaker(request.uri().getHost());
+        Response old = admit(request, breaker, priority);
+        if (old != null) {
+            return StreamedResponse.of(old);
+        }
+
+        outgoing.record();
+        streamed.incrementAndGet();
+        try {
+            HttpResponse<InputStream> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (IOException e) {
+                breaker.recordFailure();
+                throw e;
+            }
+            int code = response.statusCode();
+            // Client errors are our fault, only server errors count against the host
+            if (code >= 500) {
+                breaker.recordFailure();
+            } else {
+                breaker.recordSuccess();
+            }
+            return new StreamedResponse(code, response.body());
+        } catch (IOException | InterruptedException e) {
+            // Rethrow exceptions as runtime
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a GET request
+     *
+     * @param url the url to get
+     * @param headers Optional set of headers as "Header: Value"
+     * @return the request
+     */
+    private static HttpRequest buildGet(String url, String ...headers) {
         String userAgent = "MLB Bot/1.0 (JDA; +https://mlb.chew.pw/)";
         HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
             .header("User-Agent", userAgent)
@@ -71,7 +263,7 @@ public class RestClient {
         }
 
         if (debug) LoggerFactory.getLogger(RestClient.class).debug("Making call to GET {}", url.split("\\?")[0]);
-        return performRequest(request.build());
+        return request.build();
     }
 
     /**
@@ -80,20 +272,122 @@ public class RestClient {
      * @return a response
      */
     public static Response performRequest(HttpRequest request) {
-        if (requests.getIfPresent(request.uri()) != null) {
-            LoggerFactory.getLogger(RestClient.class).debug("Received response from cache");
-            return requests.getIfPresent(request.uri());
+        return performRequest(request, true, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Actually perform the request
+     * @param request a request
+     * @param useCache whether a cached response may be returned
+     * @param priority the lane this request is in
+     * @return a response
+     */
+    public static Response performRequest(HttpRequest request, boolean useCache, Priority priority) {
+        if (useCache) {
+            Response cached = requests.getIfPresent(request.uri());
+            if (cached != null) {
+                LoggerFactory.getLogger(RestClient.class).debug("Received response from cache");
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        // Identical requests already on their way in this lane or a higher one share that response instead of sending
+        // another. Lower lanes may wait longer and settle for stale responses, so they're never joined.
+        for (Priority lane : Priority.values()) {
+            if (lane == priority) {
+                break;
+            }
+
+            CompletableFuture<Response> higher = inFlight.get(new InFlightKey(request.uri(), request.headers(), lane));
+            if (higher != null) {
+                coalesced.incrementAndGet();
+                try {
+                    return await(higher);
+                } catch (RateLimitedException | CircuitOpenException e) {
+                    // Our lane might still be let through, or get a stale response the higher lane couldn't use
+                    return send(request, priority);
+                }
+            }
+        }
+
+        InFlightKey key = new InFlightKey(request.uri(), request.headers(), priority);
+        CompletableFuture<Response> flight = new CompletableFuture<>();
+        CompletableFuture<Response> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+
+        cacheMisses.incrementAndGet();
+        try {
+            Response res = send(request, priority);
+            flight.complete(res);
+            return res;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Waits for a request someone else is making.
+     *
+     * @param flight the other request
+     * @return its response
+     * @throws RuntimeException whatever the other request threw
+     */
+    private static Response await(CompletableFuture<Response> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sends a request over the network, as long as its host's circuit and the rate limit allow it
+     * @param request a request
+     * @param priority the lane this request is in
+     * @return a response
+     */
+    private static Response send(HttpRequest request, Priority priority) {
+        CircuitBreaker breaker = breaker(request.uri().getHost());
+        Response limited = admit(request, breaker, priority);
+        if (limited != null) {
+            return limited;
         }
 
+        outgoing.record();
         try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                breaker.recordFailure();
+                throw e;
+            }
             int code = response.statusCode();
             String body = response.body();
+            // Client errors are our fault, only server errors count against the host
+            if (code >= 500) {
+                breaker.recordFailure();
+            } else {
+                breaker.recordSuccess();
+            }
             if (debug) {
                 LoggerFactory.getLogger(RestClient.class).debug("Received uncached response");
             }
             Response res = new Response(code, body);
             requests.put(request.uri(), res);
+            if (res.success()) {
+                stale.put(request.uri(), res);
+            }
             return res;
         } catch (IOException | InterruptedException e) {
             // Rethrow exceptions as runtime
@@ -101,6 +395,172 @@ public class RestClient {
         }
     }
 
+    /**
+     * Checks whether a request may go out, as long as its host's circuit and the rate limit allow it
+     * @param request a request
+     * @param breaker the circuit breaker of the request's host
+     * @param priority the lane this request is in
+     * @throws CircuitOpenException If the circuit is open and there is nothing stale to serve
+     * @throws RateLimitedException If the request is shed
+     * @return null if the request may go out, otherwise the stale response to use instead
+     */
+    private static Response admit(HttpRequest request, CircuitBreaker breaker, Priority priority) {
+        if (!breaker.tryAcquire()) {
+            Response old = priority == Priority.LIVE ? null : stale.getIfPresent(request.uri());
+            if (old != null) {
+                return old;
+            }
+            throw new CircuitOpenException(request.uri().getHost());
+        }
+
+        return waitForBudget(request.uri(), priority);
+    }
+
+    /**
+     * Takes a token for a request in the given lane.
+     * Live requests always go out eventually. The other lanes can't dig into the tokens kept for the lanes above them,
+     * so when they run out, they get a stale response or are shed.
+     *
+     * @param uri the uri being requested
+     * @param priority the lane of the request
+     * @throws RateLimitedException If the request is shed
+     * @return null if the request may go out, otherwise the stale response to use instead
+     */
+    private static Response waitForBudget(URI uri, Priority priority) {
+        TokenBucket bucket = limiter;
+        LaneStats stats = laneStats.get(priority);
+        double keep = bucket.capacity() * priority.reserve;
+
+        if (bucket.tryAcquire(keep)) {
+            stats.sent.incrementAndGet();
+            return null;
+        }
+
+        if (priority != Priority.LIVE) {
+            Response old = stale.getIfPresent(uri);
+            if (old != null) {
+                LoggerFactory.getLogger(RestClient.class).debug("Rate limited, serving stale response for {}", uri.getPath());
+                stats.servedStale.incrementAndGet();
+                return old;
+            }
+        }
+
+        boolean acquired;
+        try {
+            acquired = bucket.acquire(keep, priority.maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e.getMessage());
+        }
+
+        if (acquired || priority == Priority.LIVE) {
+            // Live requests go out even if the wait ran out, we'd rather go over than miss plays
+            stats.delayed.incrementAndGet();
+            stats.sent.incrementAndGet();
+            return null;
+        }
+
+        LoggerFactory.getLogger(RestClient.class).debug("Rate limited, shedding {} request for {}", priority, uri.getPath());
+        stats.shed.incrementAndGet();
+        throw new RateLimitedException(priority);
+    }
+
+    /**
+     * Gets a summary of the rate limiter and what happened in each lane, e.g. for bot stats.
+     *
+     * @return a human-readable summary, one lane per line
+     */
+    public static String rateLimitStats() {
+        TokenBucket bucket = limiter;
+        StringBuilder summary = new StringBuilder("%.0f/%.0f tokens, %s/s".formatted(bucket.available(), bucket.capacity(), bucket.perSecond()));
+        for (Priority priority : Priority.values()) {
+            LaneStats stats = laneStats.get(priority);
+            summary.append("\n%s: %s sent, %s delayed, %s stale, %s shed".formatted(
+                priority.name().charAt(0) + priority.name().substring(1).toLowerCase(),
+                stats.sent.get(), stats.delayed.get(), stats.servedStale.get(), stats.shed.get()
+            ));
+        }
+
+        return summary.toString();
+    }
+
+    /**
+     * Gets a summary of how requests were answered, e.g. for bot stats.
+     *
+     * @return a human-readable summary
+     */
+    public static String cacheStats() {
+        return "%s cached, %s sent, %s coalesced, %s streamed, %s in flight".formatted(cacheHits.get(), cacheMisses.get(), coalesced.get(), streamed.get(), inFlight.size());
+    }
+
+    /**
+     * The lanes requests are made in, from the highest to the lowest. Higher lanes get to use tokens the lower lanes
+     * can't touch.
+     */
+    public enum Priority {
+        /**
+         * Polling live games. Never shed, only delayed.
+         */
+        LIVE(0, Duration.ofSeconds(10)),
+        /**
+         * Lookups for commands, buttons, and autocomplete.
+         */
+        INTERACTIVE(0.25, Duration.ofSeconds(2)),
+        /**
+         * Refreshing caches and other work nobody is waiting on.
+         */
+        BACKGROUND(0.5, Duration.ofSeconds(30));
+
+        /**
+         * The fraction of the bucket that must be left for the lanes above
+         */
+        private final double reserve;
+        /**
+         * How long a request may wait for a token
+         */
+        private final Duration maxWait;
+
+        Priority(double reserve, Duration maxWait) {
+            this.reserve = reserve;
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Thrown when a request is shed because the rate limit ran out
+     */
+    public static class RateLimitedException extends RuntimeException {
+        public RateLimitedException(Priority priority) {
+            super("Rate limit reached for " + priority + " requests");
+        }
+    }
+
+    /**
+     * Thrown when a request is refused because its host's circuit is open
+     */
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String host) {
+            super("Circuit open for " + host);
+        }
+    }
+
+    /**
+     * Requests are only shared if they'd be sent exactly the same, in the same lane. Requests in lower lanes join
+     * these too, but a request never joins a lower lane, which might make it wait longer or hand it a stale response.
+     */
+    private record InFlightKey(URI uri, HttpHeaders headers, Priority priority) {
+    }
+
+    /**
+     * Counters for a single lane
+     */
+    private static class LaneStats {
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong delayed = new AtomicLong();
+        private final AtomicLong servedStale = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+    }
+
     /**
      * A response from a REST call
      */
@@ -147,4 +607,82 @@ public class RestClient {
             return asString();
         }
     }
+
+    /**
+     * A response from a REST call whose body is read as it arrives. The body can only be read once.
+     */
+    public static class StreamedResponse implements AutoCloseable {
+        private final int code;
+        private final InputStream body;
+
+        public StreamedResponse(int code, InputStream body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        /**
+         * Wraps a response that's already in memory, e.g. a stale one
+         * @param response the response
+         * @return a streamed response reading it
+         */
+        static StreamedResponse of(Response response) {
+            return new StreamedResponse(response.code(), new ByteArrayInputStream(response.asString().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        /**
+         * The HTTP status code
+         * @return the status code
+         */
+        public int code() {
+            return code;
+        }
+
+        /**
+         * Check to see if the request was successful.
+         * Codes 200-299 are considered successful.
+         * @return true if successful
+         */
+        public boolean success() {
+            return code >= 200 && code < 300;
+        }
+
+        /**
+         * Get the body as raw bytes
+         * @return the body
+         */
+        public InputStream body() {
+            return body;
+        }
+
+        /**
+         * Get the body as UTF-8 text
+         * @return a Reader of the body
+         */
+        public Reader reader() {
+            return new InputStreamReader(body, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Read the whole body into a String, for callers that need all of it as text anyway
+         * @return a String
+         */
+        public String asString() {
+            try {
+                return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Closes the body, giving the connection back
+         */
+        @Override
+        public void close() {
+            try {
+                body.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import pw.chew.mlb.commands.StartGameCommand;
 import pw.chew.mlb.commands.StopGameCommand;
 import pw.chew.mlb.listeners.InteractionHandler;
 import pw.chew.mlb.listeners.JDAListeners;
+import pw.chew.mlb.objects.LiveFeed;
 import pw.chew.mlb.util.TeamEmoji;
 
 import javax.security.auth.login.LoginException;
@@ -46,6 +47,16 @@ public class MLBBot {
         Properties prop = new Properties();
         prop.load(new FileInputStream("bot.properties"));
 
+        // Feed settings
+        LiveFeed.incremental = Boolean.parseBoolean(prop.getProperty("feed.diffPatch", "false"));
+        LiveFeed.gated = Boolean.parseBoolean(prop.getProperty("feed.timestampGate", "true"));
+
+        // Outbound rate limit for MLB's API
+        RestClient.setRateLimit(
+            Double.parseDouble(prop.getProperty("rest.rateLimit.perSecond", "20")),
+            Integer.parseInt(prop.getProperty("rest.rateLimit.burst", "40"))
+        );
+
         // Initialize Database for storage
         logger.info("Connecting to database...");
         DatabaseHelper.openConnection();
@@ -87,7 +98,7 @@ public class MLBBot {
             ).build();
 
         // Load teams
-        JSONObject teams = RestClient.get("https://statsapi.mlb.com/api/v1/teams?sportIds=1&season=" + SEASON).asJSONObject();
+        JSONObject teams = RestClient.get(RestClient.Priority.BACKGROUND, "https://statsapi.mlb.com/api/v1/teams?sportIds=1&season=" + SEASON).asJSONObject();
 
         for (int i = 0; i < teams.getJSONArray("teams").length(); i++) {
             TEAMS.add(teams.getJSONArray("teams").getJSONObject(i));
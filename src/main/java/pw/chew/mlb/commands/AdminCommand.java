@@ -9,9 +9,14 @@ import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
 import net.dv8tion.jda.api.exceptions.PermissionException;
 import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
 import pw.chew.mlb.MLBBot;
 import pw.chew.mlb.listeners.GameFeedHandler;
+import pw.chew.mlb.listeners.GamePipeline;
+import pw.chew.mlb.listeners.HomerLookups;
 import pw.chew.mlb.objects.ActiveGame;
+import pw.chew.mlb.objects.LiveFeed;
+import pw.chew.mlb.util.RateWindow;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -121,7 +126,11 @@ public class AdminCommand extends Command {
     public void botStats(CommandEvent event) {
         long serverCount = event.getJDA().getGuilds().size();
         long activeGames = GameFeedHandler.allGames().size();
-        long activeThreads = GameFeedHandler.GAME_THREADS.size();
+        long activePolls = GameFeedHandler.POLLER.size();
+        long pollThreads = GameFeedHandler.POLLER.threadCount();
+        long skippedFetches = LiveFeed.skippedFetches();
+        long performedFetches = LiveFeed.performedFetches();
+        RateWindow.Summary requestRate = RestClient.outgoing.summary();
 
         // Store a list that can only have unique items
         List<String> activeServers = new ArrayList<>();
@@ -138,8 +147,16 @@ public class AdminCommand extends Command {
             .setTitle("Bot Stats")
             .addField("Servers", String.valueOf(serverCount), true)
             .addField("Active Games", String.valueOf(activeGames), true)
-            .addField("Active Threads", String.valueOf(activeThreads), true)
+            .addField("Active Polls", String.valueOf(activePolls), true)
+            .addField("Poll Threads", String.valueOf(pollThreads), true)
             .addField("Active Servers", String.valueOf(activeServers.size()), true)
+            .addField("Feed Fetches", "%s performed, %s skipped as unchanged".formatted(performedFetches, skippedFetches), false)
+            .addField("Identical Feed Bodies", LiveFeed.identicalBodyStats(), false)
+            .addField("Requests per Second", requestRate.toString(), false)
+            .addField("Request Cache", RestClient.cacheStats(), false)
+            .addField("Rate Limiter", RestClient.rateLimitStats(), false)
+            .addField("Game Pipeline", GamePipeline.stats(), false)
+            .addField("Homer Lookups", HomerLookups.stats(), false)
             ;
 
         event.reply(embed.build());
@@ -149,7 +166,7 @@ public class AdminCommand extends Command {
         if (event.getArgs().contains("--now")) {
             event.getChannel().sendMessage("Bye bye!").queue(m -> shutdown());
         } else {
-            if (GameFeedHandler.GAME_THREADS.isEmpty()) {
+            if (GameFeedHandler.POLLER.isEmpty()) {
                 event.getChannel().sendMessage("Bye bye!").queue(m -> shutdown());
             } else {
                 GameFeedHandler.shutdownOnFinish = true;
@@ -19,11 +19,11 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import pw.chew.chewbotcca.util.MiscUtil;
 import pw.chew.chewbotcca.util.RestClient;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.objects.LiveGameRegistry;
 import pw.chew.mlb.objects.ImageUtil;
 import pw.chew.mlb.util.AutocompleteUtil;
 import pw.chew.mlb.util.EmbedUtil;
-import pw.chew.mlb.util.MLBAPIUtil;
 import pw.chew.mlb.util.TeamEmoji;
 
 import java.util.ArrayList;
@@ -53,8 +53,8 @@ public class GameInfoCommand extends SlashCommand {
     @Override
     protected void execute(SlashCommandEvent event) {
         String gamePk = event.optString("game", "");
-        GameState info = GameState.fromPk(gamePk);
-        if (info.failed()) {
+        GameSnapshot info = LiveGameRegistry.snapshot(gamePk);
+        if (info == null) {
             event.replyEmbeds(EmbedUtil.failure("Failed to get game info")).setEphemeral(true).queue();
             return;
         }
@@ -71,21 +71,17 @@ public class GameInfoCommand extends SlashCommand {
 
     /**
      * Builds an embed for the game info.
-     * Doesn't include ActionRows, use {@link #buildActionRows(GameState)}.
+     * Doesn't include ActionRows, use {@link #buildActionRows(GameSnapshot)}.
      *
      * @param info the game info to build the embed for
      * @return the embed
      */
-    public static MessageEmbed buildGameInfoEmbed(GameState info) {
-        if (info.failed()) {
-            return EmbedUtil.failure("Failed to get game info");
-        }
-
+    public static MessageEmbed buildGameInfoEmbed(GameSnapshot info) {
         EmbedBuilder embed = new EmbedBuilder()
             .setTitle("Game Info for %s @ %s on %s".formatted(info.away().clubName(), info.home().clubName(), info.friendlyDate()))
             .setDescription(info.summary())
             .addField("Attendance", info.friendlyAttendance(), true)
-            .addField("Weather", info.weather(), true)
+            .addField("Weather", info.friendlyWeather(), true)
             .setFooter("Use the menus below to find info for the specified team.");
 
         return embed.build();
@@ -97,13 +93,13 @@ public class GameInfoCommand extends SlashCommand {
      * @param info the game info to build buttons for
      * @return the buttons
      */
-    public static List<ActionRow> buildActionRows(GameState info) {
+    public static List<ActionRow> buildActionRows(GameSnapshot info) {
         String[] homeOrAway = {"away", "home"};
         StringSelectMenu away = null;
         StringSelectMenu home = null;
 
         for (String homeAway : homeOrAway) {
-            GameState.TeamInfo team = homeAway.equals("away") ? info.away() : info.home();
+            GameSnapshot.Team team = homeAway.equals("away") ? info.away() : info.home();
 
             StringSelectMenu.Builder menu = StringSelectMenu.create("gameinfo:select:%s:%s".formatted(info.gamePk(), homeAway))
                 .setPlaceholder("Select %s Info".formatted(team.clubName()))
@@ -126,7 +122,7 @@ public class GameInfoCommand extends SlashCommand {
             }
         }
 
-        Button refreshButton = Button.secondary("gameinfo:refresh:%s".formatted(info.gamePk()), "Refresh").withDisabled(info.isFinal());
+        Button refreshButton = Button.secondary("gameinfo:refresh:%s".formatted(info.gamePk()), "Refresh").withDisabled(info.status().isFinal());
         Button onlineButton = Button.link("https://mlb.chew.pw/game/" + info.gamePk(), "View Online");
 
         return Arrays.asList(
@@ -168,34 +164,24 @@ public class GameInfoCommand extends SlashCommand {
      * @param event the event to reply to
      */
     public static void buildScoringPlays(String gamePk, String team, GenericComponentInteractionCreateEvent event) {
-        GameState gameInfo = GameState.fromPk(gamePk);
-        if (gameInfo.failed()) {
+        GameSnapshot gameInfo = LiveGameRegistry.snapshot(gamePk);
+        if (gameInfo == null) {
             event.replyEmbeds(EmbedUtil.failure("Failed to get game info. Please try again later.")).setEphemeral(true).queue();
             return;
         }
 
         Map<String, List<String>> inningMap = new HashMap<>();
-        GameState.TeamInfo selectedTeam = team.equals("home") ? gameInfo.home() : gameInfo.away();
+        GameSnapshot.Team selectedTeam = team.equals("home") ? gameInfo.home() : gameInfo.away();
         String inningState = team.equals("home") ? "Bottom" : "Top";
         String scoreTemplate = "%s%s %s%s - %s%s %s%s".formatted(
             team.equals("away") ? "**" : "", gameInfo.away().abbreviation(), "%d", team.equals("away") ? "**" : "",
             team.equals("home") ? "**" : "", "%d", gameInfo.home().abbreviation(), team.equals("home") ? "**" : ""
         );
 
-        List<JSONObject> scoringPlays = gameInfo.scoringPlays();
-        for (JSONObject play : scoringPlays) {
-            JSONObject about = play.getJSONObject("about");
-            if ((team.equals("home") && about.getBoolean("isTopInning") ||
-                (team.equals("away") && !about.getBoolean("isTopInning")))) {
-                continue;
-            }
-
-            JSONObject result = play.getJSONObject("result");
-
-            String inning = about.getInt("inning") + "";
-            String description = result.getString("description");
+        for (GameSnapshot.Play play : gameInfo.plays().scoringPlays(team.equals("away"))) {
+            String inning = play.inning() + "";
             String fullDesc = "- [%s] %s *(+%s RBI)*"
-                .formatted(scoreTemplate.formatted(result.getInt("awayScore"), result.getInt("homeScore")), description, result.getInt("rbi"));
+                .formatted(scoreTemplate.formatted(play.awayScore(), play.homeScore()), play.description(), play.rbi());
 
             inningMap.computeIfAbsent(inning, k -> new ArrayList<>()).add(fullDesc);
         }
@@ -211,7 +197,7 @@ public class GameInfoCommand extends SlashCommand {
             embed.setDescription("No scoring plays for this team.");
         }
 
-        Button refreshButton = Button.secondary("gameinfo:scoring_plays:%s:%s".formatted(gamePk, team), "Refresh").withDisabled(gameInfo.isFinal());
+        Button refreshButton = Button.secondary("gameinfo:scoring_plays:%s:%s".formatted(gamePk, team), "Refresh").withDisabled(gameInfo.status().isFinal());
 
         // send the message, if the initial button is pressed
         if (event instanceof StringSelectInteractionEvent) {
@@ -222,7 +208,7 @@ public class GameInfoCommand extends SlashCommand {
     }
 
     /**
-     * Builds a lineup for a team
+     * Builds a lineup for a team, from the poller's snapshot if it's following the game
      *
      * @param gamePk the gamePk to get the lineup for
      * @param awayOrHome the team to get the lineup for, 'away' or 'home'
@@ -230,7 +216,11 @@ public class GameInfoCommand extends SlashCommand {
      * @return the lineup as a string
      */
     public static String buildLineup(String gamePk, String awayOrHome, String teamName) {
-        var lineup = MLBAPIUtil.getLineup(gamePk, awayOrHome);
+        GameSnapshot snapshot = LiveGameRegistry.snapshot(gamePk);
+        if (snapshot == null) {
+            return "Failed to fetch the lineup. Please try again.";
+        }
+        GameSnapshot.Lineup lineup = snapshot.lineup(awayOrHome);
 
         List<String> friendly = new ArrayList<>();
 
@@ -238,7 +228,7 @@ public class GameInfoCommand extends SlashCommand {
         friendly.add("The following is the lineup for this team. It is subject to change at any time.");
         friendly.add("## Batting Order");
 
-        var battingOrder = lineup.get("Batting Order");
+        var battingOrder = lineup.battingOrder();
 
         if (battingOrder.isEmpty()) {
             friendly.add("The batting order is currently not available. Please try again closer to the scheduled game time.");
@@ -251,12 +241,12 @@ public class GameInfoCommand extends SlashCommand {
         // add a string before the next-to-last element. e.g. "a", "b", "c" <-- between b and c
         friendly.add("## Probable Pitcher");
 
-        var probablePitcher = lineup.get("Probable Pitcher");
+        var probablePitcher = lineup.probablePitcher();
 
-        if (probablePitcher.isEmpty()) {
+        if (probablePitcher == null) {
             friendly.add("The probable pitcher is currently not available. Please try again closer to the scheduled game time.");
         } else {
-            friendly.add(probablePitcher.get(0).friendlyString());
+            friendly.add(probablePitcher.friendlyString());
         }
 
         return String.join("\n", friendly);
@@ -272,15 +262,15 @@ public class GameInfoCommand extends SlashCommand {
      */
     public static void buildBoxScore(String gamePk, String homeOrAway, String type, GenericComponentInteractionCreateEvent event) {
         // get game info
-        GameState info = GameState.fromPk(gamePk);
-        if (info.failed()) {
+        GameSnapshot info = LiveGameRegistry.snapshot(gamePk);
+        if (info == null) {
             event.replyEmbeds(EmbedUtil.failure("Failed to get game info")).queue();
             return;
         }
 
         // get box score data
         JSONObject data = RestClient.get("https://api.chew.pro/sports/mlb/%s/boxscore".formatted(gamePk)).asJSONObject();
-        GameState.TeamInfo team = homeOrAway.equals("home") ? info.home() : info.away();
+        GameSnapshot.Team team = homeOrAway.equals("home") ? info.home() : info.away();
 
         String title = """
             # Box Score for %s @ %s
@@ -296,8 +286,8 @@ public class GameInfoCommand extends SlashCommand {
         ActionRow row = ActionRow.of(
             Button.primary("gameinfo:boxscore:" + gamePk + ":" + homeOrAway + ":batters", "Batters"),
             Button.primary("gameinfo:boxscore:" + gamePk + ":" + homeOrAway + ":pitchers", "Pitchers"),
-            Button.primary("gameinfo:boxscore:" + gamePk + ":" + homeOrAway + ":bench", "Bench").withDisabled(info.isFinal()),
-            Button.primary("gameinfo:boxscore:" + gamePk + ":" + homeOrAway + ":bullpen", "Bullpen").withDisabled(info.isFinal()),
+            Button.primary("gameinfo:boxscore:" + gamePk + ":" + homeOrAway + ":bench", "Bench").withDisabled(info.status().isFinal()),
+            Button.primary("gameinfo:boxscore:" + gamePk + ":" + homeOrAway + ":bullpen", "Bullpen").withDisabled(info.status().isFinal()),
             Button.primary("gameinfo:boxscore:" + gamePk + ":" + homeOrAway + ":info", "Info")
         );
 
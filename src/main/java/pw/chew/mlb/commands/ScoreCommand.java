@@ -8,7 +8,8 @@ import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.internal.utils.Checks;
 import pw.chew.mlb.listeners.GameFeedHandler;
 import pw.chew.mlb.objects.ActiveGame;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.objects.LiveGameRegistry;
 
 import java.util.Map;
 
@@ -47,7 +48,12 @@ public class ScoreCommand extends SlashCommand {
     }
 
     public String buildScore(String gamePk, String channelId) {
-        GameState state = GameState.fromPk(gamePk);
+        GameSnapshot state = LiveGameRegistry.snapshot(gamePk);
+        if (state == null) {
+            return "Failed to get the score. Please try again later.";
+        }
+
+        GameSnapshot.Matchup matchup = state.matchup();
 
         String channelMention = "";
         if (channelId != null) {
@@ -67,10 +73,10 @@ public class ScoreCommand extends SlashCommand {
                     %s
                     """,
             state.away().clubName(), state.away().runs(), state.home().runs(), state.home().clubName(),
-            state.inningState(), state.inningOrdinal(), state.outs(),
+            state.inning().state(), state.inning().ordinal(), state.outs(),
             state.summary(),
-            state.currentPitcher(), state.currentBatter(),
-            state.currentBases()
+            matchup == null ? "None" : matchup.pitcher(), matchup == null ? "None" : matchup.batter(),
+            matchup == null ? "No one is on base." : matchup.bases()
         );
     }
 }
@@ -15,7 +15,8 @@ import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.utils.TimeFormat;
 import pw.chew.mlb.listeners.GameFeedHandler;
 import pw.chew.mlb.objects.ActiveGame;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.objects.LiveGameRegistry;
 import pw.chew.mlb.util.AutocompleteUtil;
 import pw.chew.mlb.util.EmbedUtil;
 
@@ -62,10 +63,13 @@ public class StartGameCommand extends SlashCommand {
 
         // Start a new thread
         ActiveGame activeGame = new ActiveGame(gamePk, channel.getId());
-        GameState currentState = GameState.fromPk(gamePk);
+        GameSnapshot currentState = LiveGameRegistry.snapshot(gamePk);
+        if (currentState == null) {
+            throw new IllegalStateException("Failed to fetch this game. Please try again.");
+        }
 
         // Refuse to start if the game is already over
-        if (currentState.isFinal()) {
+        if (currentState.status().isFinal()) {
             throw new IllegalStateException("This game is already over. Please start a different game.");
         }
 
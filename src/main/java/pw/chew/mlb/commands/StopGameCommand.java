@@ -7,7 +7,8 @@ import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.InteractionContextType;
 import net.dv8tion.jda.api.utils.TimeFormat;
 import pw.chew.mlb.listeners.GameFeedHandler;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.objects.LiveGameRegistry;
 import pw.chew.mlb.util.EmbedUtil;
 
 import java.util.Map;
@@ -31,14 +32,17 @@ public class StopGameCommand extends SlashCommand {
         if (stoppedGame == null) {
             event.replyEmbeds(EmbedUtil.failure("There is no active game in this channel. Please start a game first.")).setEphemeral(true).queue();
         } else {
-            GameState state = GameState.fromPk(stoppedGame);
-
             EmbedBuilder embed = new EmbedBuilder()
-                .setTitle("Stopped Game **%s @ %s**".formatted(state.away().clubName(), state.home().clubName()))
-                .setDescription("Game Date: " + TimeFormat.DATE_LONG.format(state.officialDate()))
+                .setTitle("Stopped Game")
                 .setColor(0xd23d33)
                 .setFooter("Game PK: %s".formatted(stoppedGame));
 
+            GameSnapshot state = LiveGameRegistry.snapshot(stoppedGame);
+            if (state != null) {
+                embed.setTitle("Stopped Game **%s @ %s**".formatted(state.away().clubName(), state.home().clubName()))
+                    .setDescription("Game Date: " + TimeFormat.DATE_LONG.format(state.officialDate()));
+            }
+
             event.replyEmbeds(embed.build()).queue();
         }
     }
@@ -12,34 +12,52 @@ import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
 import net.dv8tion.jda.api.exceptions.InsufficientPermissionException;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import org.jetbrains.annotations.NotNull;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.jetbrains.annotations.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.mapdb.HTreeMap;
 import org.mapdb.Serializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
 import pw.chew.mlb.commands.AdminCommand;
 import pw.chew.mlb.objects.ActiveGame;
+import pw.chew.mlb.objects.AdvisoryIndex;
+import pw.chew.mlb.objects.CatchUpSummary;
 import pw.chew.mlb.objects.ChannelConfig;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.FeedCursor;
+import pw.chew.mlb.objects.GameDiff;
+import pw.chew.mlb.objects.GameEvent;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.objects.LiveFeed;
+import pw.chew.mlb.objects.LiveGameRegistry;
+import pw.chew.mlb.objects.PlayDescriptor;
+import pw.chew.mlb.util.CircuitBreaker;
+import pw.chew.mlb.util.PollCadence;
+import pw.chew.mlb.util.PollScheduler;
 
 import java.awt.Color;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import static pw.chew.mlb.MLBBot.jda;
 
 public class GameFeedHandler {
     private static final Logger logger = LoggerFactory.getLogger(GameFeedHandler.class);
-    public final static Map<String, Thread> GAME_THREADS = new HashMap<>();
+    /**
+     * Polls every active game on a small shared pool. The key of each task is the gamePk.
+     */
+    public final static PollScheduler POLLER = new PollScheduler("GamePoller", 8);
 
     private static final DB db = DBMaker.fileDB("games.db").fileMmapEnable().closeOnJvmShutdown().checksumHeaderBypass().make();
     /**
@@ -48,9 +66,47 @@ public class GameFeedHandler {
     private static final HTreeMap<String, ActiveGame> gamesMap = db
         .hashMap("games", Serializer.STRING, new ActiveGame.EntrySerializer())
         .createOrOpen();
+    /**
+     * How far each polled game has been posted, by gamePk. Kept so a restart resumes where it left off.
+     */
+    private static final HTreeMap<String, FeedCursor> cursors = db
+        .hashMap("cursors", Serializer.STRING, new FeedCursor.EntrySerializer())
+        .createOrOpen();
+    /**
+     * The channels following each game, by gamePk. Mirrors {@link #gamesMap}, so sending to a game only looks at its own
+     * channels instead of reading every active game out of the database.
+     */
+    private static final Map<String, Set<ActiveGame>> subscribers = new ConcurrentHashMap<>();
+    /**
+     * The game in each channel, by channel ID. Mirrors {@link #gamesMap}, along with the server each channel is in.
+     */
+    private static final Map<String, ChannelGame> channelGames = new ConcurrentHashMap<>();
+    /**
+     * The games in each server, by guild ID. Only has games whose channel was found when they were added.
+     */
+    private static final Map<String, Set<ActiveGame>> serverGames = new ConcurrentHashMap<>();
 
     public static boolean shutdownOnFinish = false;
 
+    static {
+        // JDA might not be ready yet, servers are filled in as the games are resumed
+        for (ActiveGame game : gamesMap.values()) {
+            subscribe(game, null);
+        }
+
+        // Forget cursors of games nobody is following anymore
+        cursors.keySet().removeIf(gamePk -> getGames(gamePk).isEmpty());
+
+        // Once MLB is reachable again, resume every game at once instead of waiting out their backoff
+        RestClient.onCircuitChange((host, state) -> {
+            if (host.equals(LiveFeed.STATS_HOST) && state == CircuitBreaker.State.CLOSED) {
+                for (String gamePk : POLLER.keys()) {
+                    POLLER.wake(gamePk);
+                }
+            }
+        });
+    }
+
     /**
      * Adds a game to the active games list.
      * If no game is currently active, the game will be started, otherwise it will be added to the active games list.
@@ -60,17 +116,21 @@ public class GameFeedHandler {
      */
     public static void addGame(ActiveGame game, boolean modifyDb) {
         if (modifyDb) {
-            gamesMap.put(game.channelId(), game);
+            ActiveGame replaced = gamesMap.put(game.channelId(), game);
+            // If nobody else follows the game this channel followed before, stop polling it, unless it's the same game
+            if (replaced != null && !replaced.equals(game) && unsubscribe(replaced)
+                && !replaced.gamePk().equals(game.gamePk())) {
+                removePoll(replaced.gamePk());
+                logger.debug("Stopped polling game " + replaced.gamePk());
+            }
         }
+        subscribe(game, guildOf(game.channelId()));
         // make sure config is cached
         ChannelConfig.getConfig(game.channelId());
 
-        if (!GAME_THREADS.containsKey(game.gamePk())) {
-            Thread thread = new Thread(() -> runGame(game.gamePk()), "Game-" + game.gamePk());
-
-            GAME_THREADS.put(game.gamePk(), thread);
-            thread.start();
-            logger.info("Started game thread for gamePk: " + game.gamePk());
+        if (!game.gamePk().isEmpty() && POLLER.schedule(game.gamePk(), new GameLoop(game.gamePk()), Duration.ZERO)) {
+            SchedulePoller.track(game.gamePk());
+            logger.info("Started polling gamePk: " + game.gamePk());
         }
 
         logger.info("Added game " + game.gamePk() + " with channel ID " + game.channelId() + " to the active games list");
@@ -92,21 +152,12 @@ public class GameFeedHandler {
      * @param game The game to stop from the active games list.
      */
     public static void stopGame(ActiveGame game) {
-        int currentGames = 0;
-        for (ActiveGame activeGame : gamesMap.values()) {
-            if (game.gamePk().equals(activeGame.gamePk())) {
-                currentGames++;
-            }
-        }
-
         gamesMap.remove(game.channelId());
 
-        // If this is the last game running, stop the thread
-        if (currentGames == 1) {
-            Thread thread = GAME_THREADS.get(game.gamePk());
-            thread.interrupt();
-            removeThread(game.gamePk());
-            logger.debug("Stopped game " + game.gamePk() + " thread");
+        // If this is the last game running, stop polling it
+        if (unsubscribe(game)) {
+            removePoll(game.gamePk());
+            logger.debug("Stopped polling game " + game.gamePk());
         }
 
         logger.debug("Removed game " + game.gamePk() + " from the active games list");
@@ -122,20 +173,33 @@ public class GameFeedHandler {
     }
 
     /**
-     * Removes a thread from GAME_THREADS, with checks.
+     * Stops polling a game, with checks.
      *
-     * @param gamePk The gamePk of the thread to remove.
+     * @param gamePk The gamePk of the game to stop polling.
      */
-    public static void removeThread(String gamePk) {
-        LoggerFactory.getLogger(GameFeedHandler.class).debug("Removing thread for gamePk " + gamePk);
+    public static void removePoll(String gamePk) {
+        logger.debug("Removing poll for gamePk " + gamePk);
 
-        GAME_THREADS.remove(gamePk);
+        POLLER.cancel(gamePk);
+        SchedulePoller.untrack(gamePk);
+        LiveFeed.forget(gamePk);
+        LiveGameRegistry.remove(gamePk);
+        cursors.remove(gamePk);
 
-        if (GAME_THREADS.isEmpty() && shutdownOnFinish) {
+        if (POLLER.isEmpty() && shutdownOnFinish) {
             AdminCommand.shutdown();
         }
     }
 
+    /**
+     * Stops polling every game without removing them from the active games list, so they resume on restart.
+     */
+    public static void shutdown() {
+        SchedulePoller.shutdown();
+        POLLER.shutdown(Duration.ofSeconds(10));
+        GamePipeline.shutdown();
+    }
+
     /**
      * Stops a game with a provided text channel.
      * The game in the provided text channel will be stopped.
@@ -144,14 +208,23 @@ public class GameFeedHandler {
      * @return The gamePk if the game was stopped, null if no game was found in the provided text channel.
      */
     public static String stopGame(GuildMessageChannel channel) {
-        for (ActiveGame game : gamesMap.values()) {
-            if (game.channelId().equals(channel.getId())) {
-                stopGame(game);
-                return game.gamePk();
-            }
+        return stopChannelGame(channel.getId());
+    }
+
+    /**
+     * Stops the game in a channel, if there is one. Also used when a channel is deleted.
+     *
+     * @param channelId The ID of the channel to stop the game in.
+     * @return The gamePk if the game was stopped, null if no game was found in the channel.
+     */
+    public static String stopChannelGame(String channelId) {
+        ChannelGame indexed = channelGames.get(channelId);
+        if (indexed == null) {
+            return null;
         }
 
-        return null;
+        stopGame(indexed.game());
+        return indexed.game().gamePk();
     }
 
     /**
@@ -161,13 +234,8 @@ public class GameFeedHandler {
      * @return The current game for the provided text channel, null if no game is currently running in the provided text channel.
      */
     public static String currentGame(GuildMessageChannel channel) {
-        for (ActiveGame game : gamesMap.values()) {
-            if (game.channelId().equals(channel.getId())) {
-                return game.gamePk();
-            }
-        }
-
-        return null;
+        ChannelGame indexed = channelGames.get(channel.getId());
+        return indexed == null ? null : indexed.game().gamePk();
     }
 
     /**
@@ -177,7 +245,12 @@ public class GameFeedHandler {
      * @return The score of the first ongoing game in the server.
      */
     public static ActiveGame currentServerGame(@NotNull Guild server) {
-        for (ActiveGame game : gamesMap.values()) {
+        Set<ActiveGame> games = serverGames.get(server.getId());
+        if (games == null) {
+            return null;
+        }
+
+        for (ActiveGame game : games) {
             if (server.getGuildChannelById(game.channelId()) != null) {
                 return game;
             }
@@ -187,58 +260,104 @@ public class GameFeedHandler {
     }
 
     /**
-     * Runs a game. This should be run on a separate thread.
-     *
-     * @param gamePk The gamePk of the game to run.
+     * Polls a single game. One instance exists per gamePk and is run by {@link #POLLER}, which never runs the same
+     * instance on two threads at once, so the state kept here needs no synchronization.
+     * <br>
+     * While the {@link SchedulePoller} vouches that nothing changed, the feed isn't requested at all. When it sees a
+     * change, it wakes this poll up so the play is picked up right away.
+     * While it says the game hasn't started, the feed isn't requested either, and when its state is ahead of the last
+     * snapshot, e.g. it already says the game is over, the feed is fetched right away.
      */
-    private static void runGame(String gamePk) {
-        logger.debug("Starting game with gamePk: " + gamePk);
-
-        if (gamePk.isEmpty()) {
-            return;
+    private static class GameLoop implements PollScheduler.PollTask {
+        /**
+         * Live games still check their own feed this often, in case a change doesn't show up on the schedule.
+         */
+        private static final Duration MAX_UNFETCHED = Duration.ofSeconds(60);
+        /**
+         * How long to wait while MLB's circuit is open. Closing the circuit wakes every game up anyway.
+         */
+        private static final Duration CIRCUIT_OPEN_WAIT = Duration.ofSeconds(60);
+        /**
+         * How soon to try again when some messages didn't fit in the dispatch queue.
+         */
+        private static final Duration UNDELIVERED_WAIT = Duration.ofSeconds(2);
+        /**
+         * How many messages are kept while the dispatch queue is full, the oldest are dropped after that.
+         */
+        private static final int MAX_UNDELIVERED = 64;
+
+        private final String gamePk;
+        private final LiveFeed feed;
+        /**
+         * Which advisories were posted, so each feed only builds the new ones.
+         */
+        private final AdvisoryIndex advisories;
+        private Instant lastFetch = Instant.EPOCH;
+        private GameSnapshot current = null;
+        /**
+         * Where posting left off, new states are compared to this.
+         */
+        private FeedCursor cursor;
+        /**
+         * The status the last diff saw, null until the first diff, so a game that's already over is caught then.
+         */
+        private GameSnapshot.Status diffedStatus = null;
+        private int fails = 0;
+        /**
+         * Whether channels were told we lost connection, so they're told once when it's back.
+         */
+        private boolean connectionLost = false;
+        /**
+         * Deliveries that didn't fit in the dispatch queue yet, in order. Anything dispatched later goes after these.
+         */
+        private final Deque<Runnable> undelivered = new ArrayDeque<>();
+        /**
+         * Whether the game is over, and only the undelivered messages are left to hand off.
+         */
+        private boolean finished = false;
+
+        GameLoop(String gamePk) {
+            this.gamePk = gamePk;
+            this.cursor = cursors.get(gamePk);
+            this.advisories = new AdvisoryIndex(cursor == null ? 0 : cursor.advisoryCount());
+            this.feed = new LiveFeed(gamePk, advisories);
         }
 
-        GameState currentState = GameState.fromPk(gamePk);
-        List<JSONObject> postedAdvisories = currentState.gameAdvisories();
-
-//        boolean canEdit = channel.getGuild().getSelfMember().hasPermission(channel, Permission.MANAGE_CHANNEL);
-
-        // Start the looping thread until the game is stopped
-        int fails = 0;
-        while (!currentState.gameState().equals("Final")) {
-            GameState recentState = GameState.fromPk(gamePk);
-
-            if (recentState.failed()) {
-                int retryIn = fails + 3;
-                retryIn = Math.min(20, retryIn);
-
-                logger.warn("Failed to get game state for gamePk: %s! Retrying in %ss...".formatted(gamePk, retryIn));
-                if (fails == 5) {
-                    EmbedBuilder notifier = new EmbedBuilder()
-                        .setTitle("Connection Problems")
-                        .setDescription("""
-                            We're having trouble connecting to MLB's servers.
-                            We've tried 5 times now to connect, but we're still having issues.
-                            
-                            Once we reconnect, we'll let you know.
-                            """)
-                        .setColor(Color.RED);
+        @Override
+        public Duration poll() {
+            boolean delivered = flush();
+            if (finished) {
+                return delivered ? null : UNDELIVERED_WAIT;
+            }
 
-                    sendMessages(notifier.build(), gamePk);
+            SchedulePoller.Change change = SchedulePoller.consumeChange(gamePk);
+            // A trusted schedule is newer than our snapshot, so it tells us when the game started or ended
+            String scheduledState = change == SchedulePoller.Change.UNKNOWN ? null : SchedulePoller.abstractGameState(gamePk);
+            boolean behind = current != null && scheduledState != null && !scheduledState.equals(current.status().abstractState());
+            if (current != null && change == SchedulePoller.Change.UNCHANGED && fails == 0 && !behind) {
+                boolean recentlyFetched = Duration.between(lastFetch, Instant.now()).compareTo(MAX_UNFETCHED) < 0;
+                // Nothing gets posted before first pitch, not even during a delayed start
+                if ("Preview".equals(scheduledState) || recentlyFetched) {
+                    return PollCadence.next(current);
                 }
-                try {
-                    //noinspection BusyWait
-                    Thread.sleep(retryIn * 1000L);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                    // Shutdown the thread
-                    removeThread(gamePk);
-                    return;
-                }
-                fails++;
-                continue;
             }
-            if (fails > 5) {
+
+            // On the first poll, if the schedule already told us something changed, or if it's ahead of us, no need to
+            // check the timestamps
+            // Everything we need is read out of the feed once, nothing below walks it again
+            GameSnapshot recent;
+            try {
+                recent = current == null || change == SchedulePoller.Change.CHANGED || behind ? feed.fetch() : feed.poll();
+            } catch (RuntimeException e) {
+                logger.debug("Request for gamePk {} failed: {}", gamePk, e.getMessage());
+                lastFetch = Instant.now();
+                return retry();
+            }
+            lastFetch = Instant.now();
+            if (recent != null) {
+                publish(recent);
+            }
+            if (connectionLost) {
                 EmbedBuilder notifier = new EmbedBuilder()
                     .setTitle("Connection Restored")
                     .setDescription("""
@@ -247,160 +366,382 @@ public class GameFeedHandler {
                         """)
                     .setColor(Color.GREEN);
 
-                sendMessages(notifier.build(), gamePk);
+                MessageEmbed restored = notifier.build();
+                dispatch(() -> sendMessages(restored, gamePk));
+                connectionLost = false;
             }
             fails = 0;
 
-            if (recentState.isCancelled()) {
-                endGame(gamePk, recentState, "\nUnfortunately, this game was cancelled.");
-                return;
-            }
+            if (current == null) {
+                current = recent;
 
-            if (recentState.isSuspended() || recentState.isPostponed()) {
-                endGame(gamePk, recentState, "\nUnfortunately, this game has been suspended. It will resume at a later time.");
-                return;
+                // Without a cursor, the first state is only something to compare against
+                if (cursor == null) {
+                    logger.debug("Starting game with gamePk: " + gamePk);
+                    advisories.consume(recent.advisories());
+                    updateCursor(FeedCursor.of(recent, advisories.count()));
+
+                    if (recent.status().isFinal()) {
+                        return finish();
+                    }
+
+                    return PollCadence.next(recent);
+                }
+
+                // Otherwise we're resuming, so post whatever happened since the cursor
+                logger.debug("Resuming gamePk {} from atBatIndex {}", gamePk, cursor.atBatIndex());
             }
 
-            // Check to see if the game has changed state
-            if (recentState.gameState().equals("Final")) {
-                currentState = recentState;
-                break;
+            // Nothing changed since the last poll
+            if (recent == null) {
+                return PollCadence.next(current);
             }
 
-            // Check for new changes in the description
-            if (recentState.atBatIndex() >= 0 && !recentState.currentPlayDescription().equals(currentState.currentPlayDescription())) {
-                logger.debug("New play description for gamePk " + gamePk + ": " + recentState.currentPlayDescription());
+            // Diff: work out what changed since the last state
+            long diffStart = System.nanoTime();
 
-                boolean scoringPlay = recentState.home().runs() != currentState.home().runs() || recentState.away().runs() != currentState.away().runs();
-                boolean hasOut = recentState.outs() != currentState.outs() && recentState.outs() > 0;
+            // If more than one at-bat finished since the cursor, e.g. after an outage, summarize the ones in between
+            FeedCursor baseline = cursor;
+            CatchUpSummary missed = null;
+            if (recent.atBatIndex() > cursor.atBatIndex() + 1) {
+                missed = CatchUpSummary.between(recent, cursor);
+                baseline = missed.cursorAfter();
+            }
 
-                EmbedBuilder embed = new EmbedBuilder()
-                    .setDescription(recentState.currentPlayDescription());
+            // The snapshot only holds advisories after the ones already posted
+            List<GameEvent> events = GameDiff.between(diffedStatus, baseline, recent, advisories.consume(recent.advisories()));
+            diffedStatus = recent.status();
+
+            GameEvent.PlayCompleted newPlay = null;
+            GameEvent.RunsScored runs = null;
+            GameEvent.OutRecorded out = null;
+            GameEvent.InningChanged inningChanged = null;
+            List<GameSnapshot.Advisory> unpostedAdvisories = new ArrayList<>();
+            boolean gameOver = false;
+            for (GameEvent event : events) {
+                if (event instanceof GameEvent.GameFinal) {
+                    // Still post what happened before the end, e.g. the last play, or everything missed while down
+                    gameOver = true;
+                } else if (event instanceof GameEvent.StatusChanged changed) {
+                    if (changed.status().isCancelled()) {
+                        dispatch(() -> endGame(gamePk, recent, "\nUnfortunately, this game was cancelled."));
+                        return stop();
+                    }
 
-                // Display Hit info if there is any. This only shows for balls that are in-play.
-                String hitInfo = recentState.hitInfo();
-                if (hitInfo != null) {
-                    embed.addField("Hit Info", hitInfo, false);
+                    if (changed.status().isSuspended() || changed.status().isPostponed()) {
+                        dispatch(() -> endGame(gamePk, recent, "\nUnfortunately, this game has been suspended. It will resume at a later time."));
+                        return stop();
+                    }
+                } else if (event instanceof GameEvent.PlayCompleted play) {
+                    newPlay = play;
+                } else if (event instanceof GameEvent.RunsScored scored) {
+                    runs = scored;
+                } else if (event instanceof GameEvent.OutRecorded recorded) {
+                    out = recorded;
+                } else if (event instanceof GameEvent.Advisory advisory) {
+                    unpostedAdvisories.add(advisory.advisory());
+                } else if (event instanceof GameEvent.InningChanged inning) {
+                    inningChanged = inning;
                 }
+            }
+            GamePipeline.DIFF.record(diffStart);
 
-                // Check potential homers
-                if (recentState.potentialHomer()) {
-                    embed.addField("Homer Info", "Please wait while we calculate...", false);
-                }
+            // Render: build the messages for everything that changed
+            long renderStart = System.nanoTime();
+            List<Runnable> deliveries = new ArrayList<>();
 
-                // Check if score changed
-                if (scoringPlay) {
-                    boolean homeScored = recentState.home().runs() > currentState.home().runs();
+            if (missed != null && !missed.isEmpty()) {
+                logger.debug("Catching up on {} missed plays for gamePk {}", missed.plays().size(), gamePk);
 
-                    embed.setTitle((homeScored ? recentState.home().clubName() : recentState.away().clubName()) + " scored!");
-                    embed.addField("Score", recentState.away().clubName() + " " + recentState.away().runs() + " - " + recentState.home().runs() + " " + recentState.home().clubName(), true);
+                for (List<MessageEmbed> catchUp : missed.messages()) {
+                    deliveries.add(() -> sendMessages(catchUp, gamePk));
                 }
+            }
 
-                // Check if outs changed. Display if it did.
-                if (hasOut) {
-                    int oldOuts = recentState.outs() - currentState.outs();
-                    if (oldOuts < 0) {
-                        oldOuts = recentState.outs();
-                    }
+            if (newPlay != null) {
+                logger.debug("New play description for gamePk " + gamePk + ": " + newPlay.description());
 
-                    embed.addField("Outs", recentState.outs() + " (+" + oldOuts + ")", true);
+                // Only the descriptor is kept for the delayed sends and the homer lookup, not the whole snapshot
+                PlayDescriptor play = PlayDescriptor.of(recent, renderPlay(recent, newPlay, runs, out), runs != null);
+                CompletableFuture<String> homerInfo = play.potentialHomer() ? HomerLookups.lookup(play) : null;
+                deliveries.add(() -> sendPlay(play, homerInfo));
+            }
 
-                    if (recentState.outs() == 3 && !scoringPlay) {
-                        embed.addField("Score", recentState.away().clubName() + " " + recentState.away().runs() + " - " + recentState.home().runs() + " " + recentState.home().clubName(), true);
-                    }
-                }
+            if (!unpostedAdvisories.isEmpty()) {
+                List<MessageEmbed> queuedAdvisories = renderAdvisories(recent, unpostedAdvisories);
+                deliveries.add(() -> sendAdvisory(queuedAdvisories, gamePk));
+            }
 
-                if (scoringPlay) {
-                    embed.setColor(0x427ee6);
-                } else if (hasOut) {
-                    embed.setColor(0xd23d33);
-                } else if (recentState.currentPlayDescription().contains("walks") || recentState.currentPlayDescription().contains("hit by pitch")) {
-                    embed.setColor(0x4fc94f);
-                } else {
-                    embed.setColor(0x979797);
-                }
+            if (inningChanged != null) {
+                EmbedBuilder inningEmbed = new EmbedBuilder()
+                    .setTitle("Inning State Updated")
+                    .setDescription(inningChanged.state() + " of the " + inningChanged.ordinal());
 
-                // Send result
-                sendPlay(embed.build(), gamePk, recentState, scoringPlay);
+                MessageEmbed inning = inningEmbed.build();
+                deliveries.add(() -> sendMessages(inning, gamePk));
             }
+            GamePipeline.RENDER.record(renderStart);
 
-            // Check for new advisories
-            List<JSONObject> newAdvisories = recentState.gameAdvisories();
-            if (newAdvisories.size() > postedAdvisories.size()) {
-                int startIndex = postedAdvisories.size();
-                List<MessageEmbed> queuedAdvisories = new ArrayList<>();
-                for (int i = startIndex; i < newAdvisories.size(); i++) {
-                    JSONObject advisory = newAdvisories.get(i);
-                    JSONObject details = advisory.getJSONObject("details");
+            // Dispatch: hand the messages off, so sending them doesn't hold up the next poll
+            for (Runnable delivery : deliveries) {
+                dispatch(delivery);
+            }
 
-                    logger.debug("New advisory: {}", advisory);
+            // Deliveries for a game are sent in order, so the summary comes after the plays above
+            if (gameOver) {
+                current = recent;
+                return finish();
+            }
 
-                    String event = details.getString("event");
-                    String description = details.getString("description");
+            // Update the current states, the cursor is saved once everything before it is sent
+            updateCursor(FeedCursor.of(recent, advisories.count()));
+            current = recent;
 
-                    if (description.replaceAll("\\.", "").equals(event)) {
-                        // reset description if it's the same as the event
-                        description = null;
-                    }
+            // Wait before requesting the next game state, depending on what the game is doing
+            Duration next = PollCadence.next(recent);
+            return undelivered.isEmpty() || next.compareTo(UNDELIVERED_WAIT) < 0 ? next : UNDELIVERED_WAIT;
+        }
 
-                    EmbedBuilder detailEmbed = new EmbedBuilder()
-                        .setTitle(event)
-                        .setDescription(description);
+        /**
+         * Builds the embed for a new play.
+         *
+         * @param recentState The snapshot with the new play
+         * @param play The new play
+         * @param runs The runs that scored since the previous state, or null if none did
+         * @param out The outs that were made since the previous state, or null if none were
+         * @return the embed
+         */
+        private MessageEmbed renderPlay(GameSnapshot recentState, GameEvent.PlayCompleted play, @Nullable GameEvent.RunsScored runs, @Nullable GameEvent.OutRecorded out) {
+            EmbedBuilder embed = new EmbedBuilder()
+                .setDescription(play.description());
+
+            // Display Hit info if there is any. This only shows for balls that are in-play.
+            String hitInfo = recentState.hitInfo();
+            if (hitInfo != null) {
+                embed.addField("Hit Info", hitInfo, false);
+            }
 
-                    // Check if score changed
-                    if (details.optBoolean("isScoringPlay", false)) {
-                        int homeScore = details.getInt("homeScore");
-                        int awayScore = details.getInt("awayScore");
-                        boolean homeScored = homeScore > awayScore;
+            // Check potential homers
+            if (recentState.potentialHomer()) {
+                embed.addField("Homer Info", "Please wait while we calculate...", false);
+            }
 
-                        detailEmbed.setAuthor((homeScored ? recentState.home().clubName() : recentState.away().clubName()) + " scored!");
-                        detailEmbed.addField("Score", recentState.away().clubName() + " " + details.getInt("awayScore") + " - " + details.getInt("homeScore") + " " + recentState.home().clubName(), true);
-                    }
+            // Check if score changed
+            if (runs != null) {
+                embed.setTitle((runs.homeTeamScored() ? recentState.home().clubName() : recentState.away().clubName()) + " scored!");
+                embed.addField("Score", recentState.away().clubName() + " " + recentState.away().runs() + " - " + recentState.home().runs() + " " + recentState.home().clubName(), true);
+            }
+
+            // Check if outs changed. Display if it did.
+            if (out != null) {
+                embed.addField("Outs", out.outs() + " (+" + out.added() + ")", true);
 
-                    queuedAdvisories.add(detailEmbed.build());
+                if (out.outs() == 3 && runs == null) {
+                    embed.addField("Score", recentState.away().clubName() + " " + recentState.away().runs() + " - " + recentState.home().runs() + " " + recentState.home().clubName(), true);
                 }
+            }
 
-                sendAdvisory(queuedAdvisories, gamePk);
+            if (runs != null) {
+                embed.setColor(0x427ee6);
+            } else if (out != null) {
+                embed.setColor(0xd23d33);
+            } else if (play.description().contains("walks") || play.description().contains("hit by pitch")) {
+                embed.setColor(0x4fc94f);
+            } else {
+                embed.setColor(0x979797);
             }
 
-            // Check if the inning state changed
-            if (!currentState.inningState().equals(recentState.inningState())) {
-                // Ignore if the state is "Middle" or "End"
-                if (!recentState.inningState().equals("Middle") && !recentState.inningState().equals("End")) {
-                    EmbedBuilder inningEmbed = new EmbedBuilder()
-                        .setTitle("Inning State Updated")
-                        .setDescription(recentState.inningState() + " of the " + recentState.inningOrdinal());
+            return embed.build();
+        }
+
+        /**
+         * Builds the embeds for new advisories.
+         *
+         * @param recentState The snapshot with the new advisories
+         * @param advisories The advisories that weren't posted yet
+         * @return the embeds
+         */
+        private List<MessageEmbed> renderAdvisories(GameSnapshot recentState, List<GameSnapshot.Advisory> advisories) {
+            List<MessageEmbed> queuedAdvisories = new ArrayList<>();
+            for (GameSnapshot.Advisory advisory : advisories) {
+                logger.debug("New advisory: {}", advisory);
+
+                String event = advisory.event();
+                String description = advisory.description();
+
+                if (description.replaceAll("\\.", "").equals(event)) {
+                    // reset description if it's the same as the event
+                    description = null;
+                }
+
+                EmbedBuilder detailEmbed = new EmbedBuilder()
+                    .setTitle(event)
+                    .setDescription(description);
+
+                // Check if score changed
+                if (advisory.scoringPlay()) {
+                    int homeScore = advisory.homeScore();
+                    int awayScore = advisory.awayScore();
+                    boolean homeScored = homeScore > awayScore;
 
-                    sendMessages(inningEmbed.build(), gamePk);
+                    detailEmbed.setAuthor((homeScored ? recentState.home().clubName() : recentState.away().clubName()) + " scored!");
+                    detailEmbed.addField("Score", recentState.away().clubName() + " " + awayScore + " - " + homeScore + " " + recentState.home().clubName(), true);
                 }
+
+                queuedAdvisories.add(detailEmbed.build());
             }
 
-            // Update the current states
-            postedAdvisories = newAdvisories;
-            currentState = recentState;
+            return queuedAdvisories;
+        }
+
+        /**
+         * Makes a new snapshot the one commands and buttons see for this game.
+         *
+         * @param snapshot The new snapshot
+         */
+        private void publish(GameSnapshot snapshot) {
+            LiveGameRegistry.publish(snapshot);
+
+            // The game may have been stopped while this poll was running, don't leave it behind
+            if (!POLLER.isScheduled(gamePk)) {
+                LiveGameRegistry.remove(gamePk);
+            }
+        }
 
-            // Wait for 10 seconds before requesting the next game state
-            try {
-                //noinspection BusyWait
-                Thread.sleep(10000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                // Shutdown the thread
-                removeThread(gamePk);
+        /**
+         * Moves the cursor, and queues saving it after everything that was posted before it.
+         *
+         * @param next The new cursor
+         */
+        private void updateCursor(FeedCursor next) {
+            if (next.equals(cursor)) {
                 return;
             }
+
+            cursor = next;
+            dispatch(() -> saveCursor(gamePk, next));
+        }
+
+        /**
+         * Queues sending messages for this game, after everything queued before it. If the dispatch queue is full, the
+         * delivery is kept and handed off on a later poll, so the poller thread never waits on Discord.
+         *
+         * @param delivery Sends the messages
+         */
+        private void dispatch(Runnable delivery) {
+            undelivered.add(delivery);
+            if (undelivered.size() > MAX_UNDELIVERED) {
+                undelivered.poll();
+                logger.warn("Dispatch queue for gamePk {} stayed full, dropped its oldest message", gamePk);
+            }
+            flush();
+        }
+
+        /**
+         * Hands the undelivered messages off to the dispatch queue, in order, until it's full.
+         *
+         * @return true if nothing is left undelivered
+         */
+        private boolean flush() {
+            Runnable next;
+            while ((next = undelivered.peek()) != null) {
+                if (!GamePipeline.dispatch(gamePk, next)) {
+                    logger.debug("Dispatch queue is full, keeping {} messages for gamePk {}", undelivered.size(), gamePk);
+                    return false;
+                }
+                undelivered.poll();
+            }
+
+            return true;
+        }
+
+        /**
+         * Stops polling the game once its last messages are handed off.
+         *
+         * @return null to stop now, or how soon to try handing off the rest
+         */
+        private Duration stop() {
+            finished = true;
+            return undelivered.isEmpty() ? null : UNDELIVERED_WAIT;
+        }
+
+        /**
+         * Handles a failed request, notifying channels once if it keeps failing or MLB's circuit is open.
+         * While the circuit is open, the game doesn't retry on its own, it's woken up once the circuit closes.
+         *
+         * @return how long to wait before trying again
+         */
+        private Duration retry() {
+            fails++;
+            boolean circuitOpen = !RestClient.breaker(LiveFeed.STATS_HOST).isClosed();
+
+            if (!connectionLost && (circuitOpen || fails >= 5)) {
+                connectionLost = true;
+                EmbedBuilder notifier = new EmbedBuilder()
+                    .setTitle("Connection Problems")
+                    .setDescription("""
+                        We're having trouble connecting to MLB's servers.
+                        We've tried several times now to connect, but we're still having issues.
+                        
+                        Once we reconnect, we'll let you know.
+                        """)
+                    .setColor(Color.RED);
+
+                MessageEmbed problems = notifier.build();
+                dispatch(() -> sendMessages(problems, gamePk));
+            }
+
+            if (circuitOpen) {
+                logger.debug("Circuit for MLB is open, gamePk {} waits for it to close", gamePk);
+                return CIRCUIT_OPEN_WAIT;
+            }
+
+            int retryIn = Math.min(20, fails + 2);
+            logger.warn("Failed to get game state for gamePk: %s! Retrying in %ss...".formatted(gamePk, retryIn));
+            return Duration.ofSeconds(retryIn);
         }
 
-        // Build a scorecard embed
-        EmbedBuilder scorecardEmbed = new EmbedBuilder();
-        scorecardEmbed.setTitle("Scorecard");
+        /**
+         * Sends the final scorecard and ends the game.
+         *
+         * @return null to stop now, or how soon to try handing off the rest
+         */
+        private Duration finish() {
+            // Game is over!
+            GameSnapshot finalState = current;
+            String scorecard = buildScorecard(finalState);
+            dispatch(() -> endGame(gamePk, finalState, scorecard));
+            return stop();
+        }
+    }
 
+    /**
+     * Saves how far a game has been posted, unless nobody is following it anymore.
+     *
+     * @param gamePk The gamePk of the game
+     * @param cursor The cursor to save
+     */
+    private static void saveCursor(String gamePk, FeedCursor cursor) {
+        if (getGames(gamePk).isEmpty()) {
+            return;
+        }
+
+        cursors.put(gamePk, cursor);
+    }
+
+    /**
+     * Builds the final scorecard table for a game.
+     *
+     * @param currentState The final snapshot of the game
+     * @return The scorecard as a code block
+     */
+    private static String buildScorecard(GameSnapshot currentState) {
         TableBuilder tableBuilder = new TableBuilder();
         List<String> headers = new ArrayList<>();
         headers.add("Team");
 
-        JSONArray inningData = currentState.lineScore().getJSONArray("innings");
-        int totalInnings = inningData.length();
+        List<GameSnapshot.InningLine> inningData = currentState.innings();
+        int totalInnings = inningData.size();
 
         for (int i = 1; i <= totalInnings; i++) {
             headers.add(String.valueOf(i));
@@ -420,25 +761,28 @@ public class GameFeedHandler {
         tableData[0][1] = currentState.home().clubName();
 
         for (int i = 0; i < totalInnings; i++) {
-            JSONObject inning = inningData.getJSONObject(i);
-            String awayScore = inning.getJSONObject("away").optString("runs", "-");
-            String homeScore = inning.getJSONObject("home").optString("runs", "-");
+            GameSnapshot.InningLine inning = inningData.get(i);
 
             tableData[i+1] = new String[] {
-                String.valueOf(awayScore),
-                homeScore
+                inning.awayRuns(),
+                inning.homeRuns()
             };
         }
 
         // Add runs, hits, errors, and leftOnBase to the last row
-        JSONObject homeTotals = currentState.lineScore().getJSONObject("teams").getJSONObject("home");
-        JSONObject awayTotals = currentState.lineScore().getJSONObject("teams").getJSONObject("away");
+        GameSnapshot.Team home = currentState.home();
+        GameSnapshot.Team away = currentState.away();
 
         int index = totalInnings + 1;
-        for (String item : new String[]{"runs", "hits", "errors", "leftOnBase"}) {
+        for (int[] totals : new int[][]{
+            {away.runs(), home.runs()},
+            {away.hits(), home.hits()},
+            {away.errors(), home.errors()},
+            {away.leftOnBase(), home.leftOnBase()}
+        }) {
             tableData[index] = new String[] {
-                String.valueOf(awayTotals.getInt(item)),
-                String.valueOf(homeTotals.getInt(item))
+                String.valueOf(totals[0]),
+                String.valueOf(totals[1])
             };
 
             index++;
@@ -457,8 +801,7 @@ public class GameFeedHandler {
         tableBuilder.setBorders(TableBuilder.Borders.HEADER_PLAIN);
         tableBuilder.codeblock(true);
 
-        // Game is over!
-        endGame(gamePk, currentState, tableBuilder.build());
+        return tableBuilder.build();
     }
 
     /**
@@ -479,6 +822,21 @@ public class GameFeedHandler {
         }
     }
 
+    /**
+     * Sends several embeds in a single message to every channel following a game.
+     *
+     * @param embeds The embeds to send, at most 10, and at most 6000 characters together.
+     * @param gamePk The gamePk of the game.
+     */
+    public static void sendMessages(List<MessageEmbed> embeds, String gamePk) {
+        for (ActiveGame game : getGames(gamePk)) {
+            GuildMessageChannel channel = canSafelySend(game);
+            if (channel == null) continue;
+
+            channel.sendMessageEmbeds(embeds).queue();
+        }
+    }
+
     public static void sendMessages(MessageEmbed message, String gamePk) {
         for (ActiveGame game : getGames(gamePk)) {
             GuildMessageChannel channel = canSafelySend(game);
@@ -491,66 +849,44 @@ public class GameFeedHandler {
     /**
      * Sends a play message to enabled channels.
      *
-     * @param message The message to send.
-     * @param gamePk The gamePk of the game.
-     * @param gameState The game state at the time of this play.
-     * @param isScoringPlay Whether the play is a scoring play.
+     * @param play The play to send.
+     * @param homerInfo The shared homer lookup for this play, or null if it's not a potential homer.
      */
-    public static void sendPlay(MessageEmbed message, String gamePk, GameState gameState, boolean isScoringPlay) {
-        for (ActiveGame game : getGames(gamePk)) {
+    public static void sendPlay(PlayDescriptor play, @Nullable CompletableFuture<String> homerInfo) {
+        for (ActiveGame game : getGames(play.gamePk())) {
             ChannelConfig config = ChannelConfig.getConfig(game.channelId());
 
             // If configured to only show scoring plays, ignore non-scoring plays
-            if (config.onlyScoringPlays() && !isScoringPlay) continue;
+            if (config.onlyScoringPlays() && !play.scoringPlay()) continue;
 
-            boolean inPlay = gameState.currentBallInPlay();
-            int delay = inPlay ? config.inPlayDelay() : config.noPlayDelay();
+            int delay = play.ballInPlay() ? config.inPlayDelay() : config.noPlayDelay();
 
             GuildMessageChannel channel = canSafelySend(game);
             if (channel == null) continue;
 
-            Instant sent = Instant.now();
-            channel.sendMessageEmbeds(message).queueAfter(delay, TimeUnit.SECONDS, playMsg -> {
-                // Wait 30 seconds until after the original message was sent
-                long waitTime = 30 - Duration.between(sent, Instant.now()).getSeconds();
-
-                if (!gameState.potentialHomer()) return;
-
-                playMsg.editMessageEmbeds(message)
-                    .delay(waitTime, TimeUnit.SECONDS)
-                    .flatMap(playMsg1 -> {
-                        // Get the embed
-                        MessageEmbed embed = playMsg.getEmbeds().get(0);
-                        // add a new field
-                        EmbedBuilder builder = new EmbedBuilder(embed);
-
-                        // find the "Homer Info" field
-                        if (gameState.potentialHomer()) {
-                            // Check potential homers
-                            String homerDescription = gameState.homerDescription();
-
-                            // find the "Homer Info" field
-                            for (MessageEmbed.Field field : embed.getFields()) {
-                                if (Objects.equals(field.getName(), "Homer Info")) {
-                                    // remove the field
-                                    builder.getFields().remove(field);
-                                    break;
-                                }
-                            }
-
-                            if (homerDescription != null) {
-                                builder.addField("Homer Info", homerDescription, false);
-                            }
-                        }
-
-                        return playMsg1.editMessageEmbeds(builder.build());
-                    })
-                    .queue();
+            channel.sendMessageEmbeds(play.embed()).queueAfter(delay, TimeUnit.SECONDS, playMsg -> {
+                if (homerInfo == null) return;
+
+                // Every channel waits on the same lookup, which finishes once Savant has the data
+                homerInfo.thenAccept(homerDescription -> {
+                    // Get the embed
+                    MessageEmbed embed = playMsg.getEmbeds().get(0);
+                    EmbedBuilder builder = new EmbedBuilder(embed);
+
+                    // find the "Homer Info" field and remove it
+                    builder.getFields().removeIf(field -> Objects.equals(field.getName(), "Homer Info"));
+
+                    if (homerDescription != null) {
+                        builder.addField("Homer Info", homerDescription, false);
+                    }
+
+                    playMsg.editMessageEmbeds(builder.build()).queue();
+                });
             });
         }
     }
 
-    public static void endGame(String gamePk, GameState currentState, String scorecard) {
+    public static void endGame(String gamePk, GameSnapshot currentState, String scorecard) {
         for (ActiveGame game : getGames(gamePk)) {
             GuildChannel gChan = jda.getGuildChannelById(game.channelId());
             if (gChan == null) continue;
@@ -570,7 +906,7 @@ public class GameFeedHandler {
                     %s
                     ## Final Scorecard
                     %s
-                    """.formatted(currentState.summary(), currentState.decisions(), scorecard))
+                    """.formatted(currentState.summary(), currentState.friendlyDecisions(), scorecard))
                     .setActionRow(Button.primary("gameinfo:send:%s".formatted(currentState.gamePk()), "View Game Info"))
                     .queue();
             } catch (InsufficientPermissionException ignored) {
@@ -607,8 +943,8 @@ public class GameFeedHandler {
             stopGame(game);
         }
 
-        // Remove the game thread
-        removeThread(gamePk);
+        // Stop polling the game
+        removePoll(gamePk);
     }
 
     /**
@@ -652,14 +988,113 @@ public class GameFeedHandler {
      * @return A list of active games
      */
     public static List<ActiveGame> getGames(String gamePk) {
-        List<ActiveGame> games = new ArrayList<>();
+        Set<ActiveGame> games = subscribers.get(gamePk);
+        return games == null ? List.of() : List.copyOf(games);
+    }
 
-        for (ActiveGame game : gamesMap.values()) {
-            if (!game.gamePk().equals(gamePk)) continue;
+    /**
+     * Gets how many channels are following a game.
+     *
+     * @param gamePk The gamePk of the game
+     * @return the amount of channels
+     */
+    public static int subscriberCount(String gamePk) {
+        Set<ActiveGame> games = subscribers.get(gamePk);
+        return games == null ? 0 : games.size();
+    }
+
+    /**
+     * Adds a game to the {@link #subscribers}, {@link #channelGames}, and {@link #serverGames} indexes.
+     * Adding one that's already there only fills in its server.
+     *
+     * @param game The game
+     * @param guildId The ID of the server its channel is in, or null if it isn't known
+     */
+    private static void subscribe(ActiveGame game, @Nullable String guildId) {
+        ChannelGame previous = channelGames.put(game.channelId(), new ChannelGame(game, guildId));
+        if (previous != null && previous.guildId() != null && !previous.guildId().equals(guildId)) {
+            removeFrom(serverGames, previous.guildId(), previous.game());
+        }
+
+        addTo(subscribers, game.gamePk(), game);
+        if (guildId != null) {
+            addTo(serverGames, guildId, game);
+        }
+    }
+
+    /**
+     * Removes a game from the {@link #subscribers}, {@link #channelGames}, and {@link #serverGames} indexes.
+     *
+     * @param game The game
+     * @return true if it was the last channel following its gamePk
+     */
+    private static boolean unsubscribe(ActiveGame game) {
+        ChannelGame indexed = channelGames.get(game.channelId());
+        if (indexed != null && indexed.game().equals(game) && channelGames.remove(game.channelId(), indexed)
+            && indexed.guildId() != null) {
+            removeFrom(serverGames, indexed.guildId(), game);
+        }
+
+        return removeFrom(subscribers, game.gamePk(), game);
+    }
 
-            games.add(game);
+    /**
+     * Adds a game to the set under a key. The set is changed inside compute, so it can't be dropped while it's added to.
+     *
+     * @param index The index
+     * @param key The key
+     * @param game The game
+     */
+    private static void addTo(Map<String, Set<ActiveGame>> index, String key, ActiveGame game) {
+        index.compute(key, (k, games) -> {
+            Set<ActiveGame> set = games == null ? ConcurrentHashMap.newKeySet() : games;
+            set.add(game);
+            return set;
+        });
+    }
+
+    /**
+     * Removes a game from the set under a key, dropping the set once it's empty.
+     *
+     * @param index The index
+     * @param key The key
+     * @param game The game
+     * @return true if this removed the last game under the key
+     */
+    private static boolean removeFrom(Map<String, Set<ActiveGame>> index, String key, ActiveGame game) {
+        boolean[] last = {false};
+        index.computeIfPresent(key, (k, games) -> {
+            if (games.remove(game) && games.isEmpty()) {
+                last[0] = true;
+            }
+            return games.isEmpty() ? null : games;
+        });
+
+        return last[0];
+    }
+
+    /**
+     * Finds the server a channel is in.
+     *
+     * @param channelId The ID of the channel
+     * @return the guild ID, or null if JDA isn't ready or the channel doesn't exist
+     */
+    @Nullable
+    private static String guildOf(String channelId) {
+        if (jda == null) {
+            return null;
         }
 
-        return games;
+        GuildChannel channel = jda.getGuildChannelById(channelId);
+        return channel == null ? null : channel.getGuild().getId();
+    }
+
+    /**
+     * A game in the {@link #channelGames} index.
+     *
+     * @param game The game
+     * @param guildId The ID of the server its channel is in, or null if it isn't known
+     */
+    private record ChannelGame(ActiveGame game, @Nullable String guildId) {
     }
 }
@@ -0,0 +1,83 @@
+package pw.chew.mlb.listeners;
+
+import pw.chew.mlb.objects.LiveFeed;
+import pw.chew.mlb.util.BoundedStage;
+import pw.chew.mlb.util.StageMetrics;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The stages every game update goes through: fetch, parse, diff, render, and dispatch.
+ * <br>
+ * Fetching, parsing, diffing, and rendering happen on the game's poll, in order, since every update builds on the one
+ * before it: the diff needs the previous cursor and status, and the render needs the advisories the diff consumed.
+ * Handing those off to their own queues would only move the same per-game ordering to other threads, the poller
+ * already runs different games in parallel. Diff and render are only timed here.
+ * <br>
+ * Dispatching the rendered messages to every channel happens on separate workers behind bounded queues, so a slow
+ * fan-out to Discord never delays the next poll. Messages for the same game are always sent in order. A poll never
+ * waits long for room in a full queue, it keeps what didn't fit and tries again later.
+ */
+public class GamePipeline {
+    /**
+     * Comparing the new state to the previous one.
+     */
+    public static final StageMetrics DIFF = new StageMetrics("Diff");
+    /**
+     * Building the embeds for whatever changed.
+     */
+    public static final StageMetrics RENDER = new StageMetrics("Render");
+
+    private static final BoundedStage<Runnable> DISPATCH = new BoundedStage<>("Dispatch", 4, 256, Runnable::run);
+    /**
+     * How long a poll waits for room in a full dispatch queue, before keeping its messages for later.
+     */
+    private static final Duration DISPATCH_WAIT = Duration.ofMillis(100);
+
+    // Prevent instantiation
+    private GamePipeline() {
+    }
+
+    /**
+     * Queues sending messages for a game. This only waits briefly if the game's dispatch queue is full.
+     *
+     * @param gamePk The gamePk of the game, which keeps its messages in order
+     * @param delivery Sends the messages
+     * @return false if there was no room, so the delivery wasn't queued
+     */
+    public static boolean dispatch(String gamePk, Runnable delivery) {
+        return DISPATCH.submit(gamePk, delivery, DISPATCH_WAIT);
+    }
+
+    /**
+     * How many deliveries are waiting to be sent.
+     *
+     * @return the dispatch queue depth
+     */
+    public static int dispatchDepth() {
+        return DISPATCH.depth();
+    }
+
+    /**
+     * Gets a summary of every stage, e.g. for bot stats.
+     *
+     * @return a human-readable summary, one stage per line
+     */
+    public static String stats() {
+        StringBuilder stats = new StringBuilder();
+        for (StageMetrics metrics : List.of(LiveFeed.fetchTime, LiveFeed.parseTime, DIFF, RENDER, DISPATCH.metrics(), DISPATCH.waitMetrics(), DISPATCH.blockedMetrics())) {
+            stats.append(metrics).append("\n");
+        }
+        stats.append("Dispatch queue depth: ").append(dispatchDepth());
+
+        return stats.toString();
+    }
+
+    /**
+     * Stops accepting deliveries, and sends whatever is still queued.
+     */
+    public static void shutdown() {
+        DISPATCH.shutdown(Duration.ofSeconds(10));
+    }
+}
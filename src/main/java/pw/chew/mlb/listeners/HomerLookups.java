@@ -0,0 +1,133 @@
+package pw.chew.mlb.listeners;
+
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.objects.PlayDescriptor;
+import pw.chew.mlb.util.PollScheduler;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Looks up whether a hit would have been a homer at other ballparks, once per play.
+ * <br>
+ * Baseball Savant takes a while to have this data, so every lookup is a small task that keeps retrying until it's
+ * there. Every channel posting the play waits on the same lookup, so a play costs the same few requests no matter
+ * how many channels follow the game.
+ */
+public class HomerLookups {
+    private static final Logger logger = LoggerFactory.getLogger(HomerLookups.class);
+    /**
+     * Savant rarely has the data sooner than this after the play.
+     */
+    private static final Duration FIRST_TRY = Duration.ofSeconds(25);
+    private static final Duration RETRY = Duration.ofSeconds(10);
+    private static final int MAX_TRIES = 6;
+    private static final String URL = "https://baseballsavant.mlb.com/gamefeed/x-parks/%s/%s?";
+
+    private static final PollScheduler scheduler = new PollScheduler("HomerLookup", 2);
+    private static final Map<String, CompletableFuture<String>> lookups = new ConcurrentHashMap<>();
+
+    private static final AtomicLong started = new AtomicLong();
+    private static final AtomicLong shared = new AtomicLong();
+    private static final AtomicLong requests = new AtomicLong();
+
+    // Prevent instantiation
+    private HomerLookups() {
+    }
+
+    /**
+     * Gets the homer description for a play, starting a lookup if there isn't one for it yet.
+     *
+     * @param play The play with the hit
+     * @return the description once it's known, completing with null if there is no hit data
+     */
+    public static CompletableFuture<String> lookup(PlayDescriptor play) {
+        String playId = play.playId();
+        if (playId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<String> existing = lookups.get(playId);
+        if (existing != null) {
+            shared.incrementAndGet();
+            return existing;
+        }
+
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        existing = lookups.putIfAbsent(playId, lookup);
+        if (existing != null) {
+            shared.incrementAndGet();
+            return existing;
+        }
+
+        started.incrementAndGet();
+        lookup.whenComplete((description, e) -> lookups.remove(playId, lookup));
+        scheduler.schedule(playId, new Lookup(play, lookup), FIRST_TRY);
+        return lookup;
+    }
+
+    /**
+     * Gets a summary of the lookups so far, e.g. for bot stats.
+     *
+     * @return a human-readable summary
+     */
+    public static String stats() {
+        return "%s lookups, %s requests, %s shared, %s in progress".formatted(started.get(), requests.get(), shared.get(), lookups.size());
+    }
+
+    /**
+     * Retries a single lookup until Savant has the data, or gives up.
+     */
+    private static class Lookup implements PollScheduler.PollTask {
+        private final PlayDescriptor play;
+        private final CompletableFuture<String> result;
+        private int tries = 0;
+
+        Lookup(PlayDescriptor play, CompletableFuture<String> result) {
+            this.play = play;
+            this.result = result;
+        }
+
+        @Override
+        public Duration poll() {
+            tries++;
+            requests.incrementAndGet();
+
+            JSONObject homers = fetch();
+            if (homers != null && !homers.has("error") && homers.has("hr") && homers.has("not")) {
+                result.complete(play.homerDescription(homers));
+                return null;
+            }
+
+            if (tries >= MAX_TRIES) {
+                logger.debug("Giving up on homer data for gamePk {} after {} tries", play.gamePk(), tries);
+                result.complete("Failed to retrieve homer data. Thanks MLB!");
+                return null;
+            }
+
+            return RETRY;
+        }
+
+        /**
+         * Gets Savant's homer at parks data of the hit.
+         *
+         * @return the data, or null if the request failed
+         */
+        @Nullable
+        private JSONObject fetch() {
+            try {
+                return RestClient.getFresh(URL.formatted(play.gamePk(), play.playId())).asJSONObject();
+            } catch (RuntimeException e) {
+                logger.debug("Homer lookup for gamePk {} failed: {}", play.gamePk(), e.getMessage());
+                return null;
+            }
+        }
+    }
+}
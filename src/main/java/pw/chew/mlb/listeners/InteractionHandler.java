@@ -10,7 +10,8 @@ import pw.chew.mlb.commands.GameInfoCommand;
 import pw.chew.mlb.commands.PlanGameCommand;
 import pw.chew.mlb.commands.StartGameCommand;
 import pw.chew.mlb.objects.GameBlurb;
-import pw.chew.mlb.objects.GameState;
+import pw.chew.mlb.objects.GameSnapshot;
+import pw.chew.mlb.objects.LiveGameRegistry;
 import pw.chew.mlb.util.EmbedUtil;
 
 public class InteractionHandler extends ListenerAdapter {
@@ -60,17 +61,17 @@ public class InteractionHandler extends ListenerAdapter {
                     GameInfoCommand.buildScoringPlays(gamePk, homeOrAway, event);
                 }
                 case "send", "refresh" -> {
-                    GameState state = GameState.fromPk(gamePk);
-                    if (state.failed()) {
+                    GameSnapshot snapshot = LiveGameRegistry.snapshot(gamePk);
+                    if (snapshot == null) {
                         event.replyEmbeds(EmbedUtil.failure("Failed to fetch game state. Please try again.")).setEphemeral(true).queue();
                         return;
                     }
 
                     if (action.equals("send")) {
-                        var rows = GameInfoCommand.buildActionRows(state);
-                        event.replyEmbeds(GameInfoCommand.buildGameInfoEmbed(state)).setComponents(rows).setEphemeral(true).queue();
+                        var rows = GameInfoCommand.buildActionRows(snapshot);
+                        event.replyEmbeds(GameInfoCommand.buildGameInfoEmbed(snapshot)).setComponents(rows).setEphemeral(true).queue();
                     } else {
-                        event.editMessageEmbeds(GameInfoCommand.buildGameInfoEmbed(state)).queue();
+                        event.editMessageEmbeds(GameInfoCommand.buildGameInfoEmbed(snapshot)).queue();
                     }
                 }
             }
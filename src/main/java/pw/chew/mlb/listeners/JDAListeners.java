@@ -1,5 +1,6 @@
 package pw.chew.mlb.listeners;
 
+import net.dv8tion.jda.api.events.channel.ChannelDeleteEvent;
 import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.events.session.ShutdownEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
@@ -8,23 +9,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pw.chew.mlb.objects.ActiveGame;
 
-import static pw.chew.mlb.listeners.GameFeedHandler.GAME_THREADS;
-
 public class JDAListeners extends ListenerAdapter {
     private final Logger logger = LoggerFactory.getLogger(JDAListeners.class);
 
     @Override
     public void onShutdown(@NotNull ShutdownEvent event) {
-        logger.info("Stopping game threads (will resume on restart)");
+        logger.info("Stopping game polls (will resume on restart)");
 
-        for (Thread thread : GAME_THREADS.values()) {
-            thread.interrupt();
-        }
+        GameFeedHandler.shutdown();
     }
 
     @Override
     public void onReady(@NotNull ReadyEvent event) {
-        logger.info("Resuming game threads");
+        logger.info("Resuming game polls");
 
         for (ActiveGame game : GameFeedHandler.allGames()) {
             // Start the game
@@ -33,4 +30,12 @@ public class JDAListeners extends ListenerAdapter {
             logger.debug("Resumed game with gamePk: " + game.gamePk());
         }
     }
+
+    @Override
+    public void onChannelDelete(@NotNull ChannelDeleteEvent event) {
+        String gamePk = GameFeedHandler.stopChannelGame(event.getChannel().getId());
+        if (gamePk != null) {
+            logger.debug("Stopped gamePk {} because its channel {} was deleted", gamePk, event.getChannel().getId());
+        }
+    }
 }
@@ -0,0 +1,234 @@
+package pw.chew.mlb.listeners;
+
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.util.PollScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Polls the schedule for every active game at once, so a game's own (much bigger) feed is only fetched when something
+ * actually happened in it.
+ * <br>
+ * Every cycle compares a small fingerprint of each game's status and line score to the previous cycle. Games whose
+ * fingerprint changed are marked as changed, and their poll in {@link GameFeedHandler} is woken up right away.
+ */
+public class SchedulePoller {
+    private static final Logger logger = LoggerFactory.getLogger(SchedulePoller.class);
+    private static final String KEY = "schedule";
+    private static final String URL = "https://statsapi.mlb.com/api/v1/schedule?language=en&gamePks=%s&hydrate=linescore&fields=dates,games,gamePk,status,abstractGameState,detailedState,linescore,currentInning,inningState,outs,teams,away,home,runs,hits,errors,offense,defense,batter,pitcher,first,second,third,id";
+    /**
+     * How long to wait between schedule polls.
+     */
+    private static final Duration INTERVAL = Duration.ofSeconds(5);
+    /**
+     * How long a schedule poll can be trusted. Past this, games go back to checking their feed themselves.
+     */
+    private static final Duration TRUSTED_FOR = Duration.ofSeconds(20);
+    /**
+     * Keeps the URL at a sane length on busy days.
+     */
+    private static final int GAMES_PER_REQUEST = 50;
+
+    private static final PollScheduler scheduler = new PollScheduler("SchedulePoller", 1);
+    private static final Set<String> trackedGames = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private static final Set<String> changedGames = ConcurrentHashMap.newKeySet();
+    private static volatile Instant lastSuccess = Instant.EPOCH;
+
+    // Prevent instantiation
+    private SchedulePoller() {
+    }
+
+    /**
+     * Starts watching a game on the schedule.
+     *
+     * @param gamePk The gamePk of the game
+     */
+    public static void track(String gamePk) {
+        trackedGames.add(gamePk);
+        scheduler.schedule(KEY, SchedulePoller::poll, Duration.ZERO);
+    }
+
+    /**
+     * Stops watching a game on the schedule.
+     *
+     * @param gamePk The gamePk of the game
+     */
+    public static void untrack(String gamePk) {
+        trackedGames.remove(gamePk);
+        fingerprints.remove(gamePk);
+        changedGames.remove(gamePk);
+    }
+
+    /**
+     * Checks whether a game changed on the schedule since the last time this was called for it.
+     *
+     * @param gamePk The gamePk of the game
+     * @return {@link Change#UNKNOWN} if the schedule can't be trusted for this game right now
+     */
+    public static Change consumeChange(String gamePk) {
+        if (changedGames.remove(gamePk)) {
+            return Change.CHANGED;
+        }
+
+        boolean fresh = Duration.between(lastSuccess, Instant.now()).compareTo(TRUSTED_FOR) < 0;
+        if (!fresh || !fingerprints.containsKey(gamePk)) {
+            return Change.UNKNOWN;
+        }
+
+        return Change.UNCHANGED;
+    }
+
+    /**
+     * The abstract game state of a game according to the schedule, e.g. "Preview", "Live" or "Final". Only as recent
+     * as the last schedule poll, so check {@link #consumeChange(String)} isn't {@link Change#UNKNOWN} first.
+     *
+     * @param gamePk The gamePk of the game
+     * @return the state, or null if the game hasn't shown up on the schedule yet
+     */
+    @Nullable
+    public static String abstractGameState(String gamePk) {
+        Fingerprint fingerprint = fingerprints.get(gamePk);
+        return fingerprint == null ? null : fingerprint.abstractState();
+    }
+
+    /**
+     * Stops polling the schedule.
+     */
+    public static void shutdown() {
+        scheduler.shutdown(Duration.ofSeconds(5));
+    }
+
+    private static Duration poll() {
+        List<String> games = new ArrayList<>(trackedGames);
+
+        boolean success = true;
+        for (int i = 0; i < games.size(); i += GAMES_PER_REQUEST) {
+            success &= pollGames(games.subList(i, Math.min(games.size(), i + GAMES_PER_REQUEST)));
+        }
+
+        if (success) {
+            lastSuccess = Instant.now();
+        }
+
+        return INTERVAL;
+    }
+
+    /**
+     * Polls the schedule for some games, marking those that changed.
+     *
+     * @param gamePks The games to poll
+     * @return true if the schedule was retrieved
+     */
+    private static boolean pollGames(List<String> gamePks) {
+        RestClient.Response res;
+        try {
+            res = RestClient.getFresh(URL.formatted(String.join(",", gamePks)));
+        } catch (RestClient.CircuitOpenException e) {
+            // Already logged when the circuit opened
+            return false;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to poll the schedule: {}", e.getMessage());
+            return false;
+        }
+
+        if (!res.success()) {
+            logger.warn("Failed to poll the schedule, received code {}", res.code());
+            return false;
+        }
+
+        try {
+            JSONArray dates = res.asJSONObject().optJSONArray("dates");
+            if (dates == null) {
+                return true;
+            }
+
+            for (int i = 0; i < dates.length(); i++) {
+                JSONArray games = dates.getJSONObject(i).getJSONArray("games");
+                for (int j = 0; j < games.length(); j++) {
+                    JSONObject game = games.getJSONObject(j);
+                    String gamePk = String.valueOf(game.getInt("gamePk"));
+                    if (!trackedGames.contains(gamePk)) continue;
+
+                    Fingerprint fingerprint = Fingerprint.of(game);
+                    Fingerprint previous = fingerprints.put(gamePk, fingerprint);
+                    if (!fingerprint.equals(previous)) {
+                        logger.debug("Game {} changed on the schedule", gamePk);
+                        changedGames.add(gamePk);
+                        GameFeedHandler.POLLER.wake(gamePk);
+                    }
+                }
+            }
+        } catch (JSONException e) {
+            logger.warn("Failed to parse the schedule: {}", e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * What the schedule knows about a game since it was last checked.
+     */
+    public enum Change {
+        /**
+         * Something happened, the game should be fetched.
+         */
+        CHANGED,
+        /**
+         * Nothing happened.
+         */
+        UNCHANGED,
+        /**
+         * The schedule couldn't be retrieved recently, or doesn't have this game yet.
+         */
+        UNKNOWN
+    }
+
+    /**
+     * Everything on the schedule that changes when a play happens.
+     * Balls and strikes are left out on purpose, we don't post individual pitches.
+     */
+    private record Fingerprint(String abstractState, String detailedState, int inning, String inningState, int outs,
+                               int awayRuns, int homeRuns, int awayHits, int homeHits, int awayErrors, int homeErrors,
+                               int batter, int pitcher, int first, int second, int third) {
+        static Fingerprint of(JSONObject game) {
+            JSONObject status = game.getJSONObject("status");
+            JSONObject lineScore = object(game, "linescore");
+            JSONObject away = object(object(lineScore, "teams"), "away");
+            JSONObject home = object(object(lineScore, "teams"), "home");
+            JSONObject offense = object(lineScore, "offense");
+            JSONObject defense = object(lineScore, "defense");
+
+            return new Fingerprint(
+                status.optString("abstractGameState"), status.optString("detailedState"),
+                lineScore.optInt("currentInning"), lineScore.optString("inningState"), lineScore.optInt("outs"),
+                away.optInt("runs"), home.optInt("runs"), away.optInt("hits"), home.optInt("hits"),
+                away.optInt("errors"), home.optInt("errors"),
+                id(offense, "batter"), id(defense, "pitcher"),
+                id(offense, "first"), id(offense, "second"), id(offense, "third")
+            );
+        }
+
+        private static JSONObject object(JSONObject parent, String key) {
+            JSONObject child = parent.optJSONObject(key);
+            return child == null ? new JSONObject() : child;
+        }
+
+        private static int id(JSONObject parent, String key) {
+            return object(parent, key).optInt("id", 0);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package pw.chew.mlb.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remembers which advisories of a game were already seen, by the position of the last one in the feed.
+ * <br>
+ * Advisories before the position are never built when reading a feed, so each poll only costs as much as the
+ * advisories that are actually new, instead of every advisory of the game so far.
+ * <br>
+ * Not thread-safe, each game's poller owns its own.
+ */
+public class AdvisoryIndex {
+    private int atBatIndex = -1;
+    private int eventIndex = -1;
+    private int count;
+    /**
+     * Whether the position is known. A cursor only remembers how many advisories were seen, so after a restart the
+     * first feed is read in full to find where that count ends.
+     */
+    private boolean positioned;
+
+    /**
+     * Creates an index that hasn't seen any advisories.
+     */
+    public AdvisoryIndex() {
+        this.count = 0;
+        this.positioned = true;
+    }
+
+    /**
+     * Creates an index that already saw some advisories, e.g. when resuming from a {@link FeedCursor}.
+     *
+     * @param count How many advisories were already seen
+     */
+    public AdvisoryIndex(int count) {
+        this.count = count;
+        this.positioned = count == 0;
+    }
+
+    /**
+     * Whether an advisory at the given position wasn't seen yet.
+     *
+     * @param atBatIndex The atBatIndex of the play it happened during
+     * @param eventIndex Its index in the play's events
+     * @return true if it's new, or if the position isn't known yet
+     */
+    public boolean isNew(int atBatIndex, int eventIndex) {
+        if (!positioned) {
+            return true;
+        }
+
+        return atBatIndex > this.atBatIndex || (atBatIndex == this.atBatIndex && eventIndex > this.eventIndex);
+    }
+
+    /**
+     * Marks advisories as seen, and moves the position past them.
+     *
+     * @param advisories The advisories of a snapshot, in feed order
+     * @return the ones that weren't seen before
+     */
+    public List<GameSnapshot.Advisory> consume(List<GameSnapshot.Advisory> advisories) {
+        List<GameSnapshot.Advisory> fresh = new ArrayList<>();
+        int skip = positioned ? 0 : count;
+
+        for (GameSnapshot.Advisory advisory : advisories) {
+            if (skip > 0) {
+                skip--;
+            } else if (isNew(advisory.atBatIndex(), advisory.eventIndex())) {
+                fresh.add(advisory);
+                count++;
+            } else {
+                continue;
+            }
+
+            atBatIndex = advisory.atBatIndex();
+            eventIndex = advisory.eventIndex();
+        }
+
+        positioned = true;
+        return fresh;
+    }
+
+    /**
+     * How many advisories were seen so far.
+     *
+     * @return the amount of advisories
+     */
+    public int count() {
+        return count;
+    }
+}
@@ -0,0 +1,227 @@
+package pw.chew.mlb.objects;
+
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summarizes plays that were missed, e.g. during an outage or while the bot was restarting, so they can be posted as
+ * a few compact embeds instead of one message per play, or not at all.
+ *
+ * @param state The snapshot the missed plays are taken from
+ * @param from Where posting left off before the missed plays
+ * @param fromPlay The last play that was posted, or null if there was none
+ * @param plays The missed plays, in order
+ */
+public record CatchUpSummary(GameSnapshot state, FeedCursor from, @Nullable GameSnapshot.Play fromPlay, List<GameSnapshot.Play> plays) {
+    /**
+     * Leaves room for the header in the first embed.
+     */
+    private static final int MAX_DESCRIPTION = 3800;
+    private static final int MAX_EMBEDS = 10;
+
+    /**
+     * Finds the plays missed between a cursor and the latest completed play.
+     * This only walks the missed plays, so it's as cheap as the amount of plays missed.
+     *
+     * @param state The latest snapshot
+     * @param from Where posting left off
+     * @return the summary, which is empty if nothing in between was missed
+     */
+    public static CatchUpSummary between(GameSnapshot state, FeedCursor from) {
+        return new CatchUpSummary(state, from, state.play(from.atBatIndex()), state.completedPlaysBetween(from.atBatIndex(), state.atBatIndex()));
+    }
+
+    /**
+     * Whether there are no missed plays.
+     *
+     * @return true if nothing was missed
+     */
+    public boolean isEmpty() {
+        return plays.isEmpty();
+    }
+
+    /**
+     * Gets a cursor as if the missed plays had been posted, so the latest play is compared to the last missed one
+     * instead of the one before the outage.
+     *
+     * @return the cursor after the missed plays
+     */
+    public FeedCursor cursorAfter() {
+        if (plays.isEmpty()) {
+            return from;
+        }
+
+        GameSnapshot.Play last = plays.get(plays.size() - 1);
+        return new FeedCursor(
+            last.atBatIndex(),
+            last.description(),
+            from.advisoryCount(),
+            from.inningState(),
+            last.awayScore(),
+            last.homeScore(),
+            last.outs()
+        );
+    }
+
+    /**
+     * Builds the summary embeds, one half-inning after the other: runs and outs, every scoring play, and every
+     * pitching change.
+     *
+     * @return the embeds, at most 10, which together might be too long for a single message
+     */
+    public List<MessageEmbed> embeds() {
+        List<String> lines = new ArrayList<>();
+
+        String awayName = state.away().clubName();
+        String homeName = state.home().clubName();
+        int awayRuns = from.awayRuns();
+        int homeRuns = from.homeRuns();
+
+        // The half-inning we're in, and what happened in it so far
+        String half = fromPlay == null ? null : halfInning(fromPlay);
+        int outsBefore = fromPlay == null ? 0 : from.outs();
+        int halfRuns = 0;
+        int halfOuts = 0;
+        boolean halfMissed = false;
+        List<String> halfLines = new ArrayList<>();
+
+        for (GameSnapshot.Play play : plays) {
+            String playHalf = halfInning(play);
+            if (!playHalf.equals(half)) {
+                if (halfMissed) {
+                    lines.add(halfHeader(half, halfRuns, halfOuts));
+                    lines.addAll(halfLines);
+                }
+                half = playHalf;
+                halfMissed = false;
+                outsBefore = 0;
+                halfRuns = 0;
+                halfOuts = 0;
+                halfLines = new ArrayList<>();
+            }
+
+            halfMissed = true;
+
+            // Pitching changes show up as events during the at-bat
+            for (String pitchingChange : play.pitchingChanges()) {
+                halfLines.add("- " + pitchingChange);
+            }
+
+            int newAway = play.awayScore();
+            int newHome = play.homeScore();
+            int runs = (newAway - awayRuns) + (newHome - homeRuns);
+            if (runs > 0) {
+                halfRuns += runs;
+                halfLines.add("- %s (%s %s - %s %s)".formatted(play.description(), awayName, newAway, newHome, homeName));
+            }
+            awayRuns = newAway;
+            homeRuns = newHome;
+
+            int outs = play.outs();
+            halfOuts += Math.max(0, outs - outsBefore);
+            outsBefore = outs;
+        }
+
+        if (halfMissed) {
+            lines.add(halfHeader(half, halfRuns, halfOuts));
+            lines.addAll(halfLines);
+        }
+
+        return toEmbeds(lines);
+    }
+
+    /**
+     * Builds the summary embeds like {@link #embeds()}, grouped into messages. Discord rejects a message whose embeds
+     * add up to more than {@link MessageEmbed#EMBED_MAX_LENGTH_BOT} characters, so the embeds are spread over as many
+     * messages as that takes, in order.
+     *
+     * @return the messages, each a list of embeds
+     */
+    public List<List<MessageEmbed>> messages() {
+        List<List<MessageEmbed>> messages = new ArrayList<>();
+        List<MessageEmbed> message = new ArrayList<>();
+        int length = 0;
+
+        for (MessageEmbed embed : embeds()) {
+            if (!message.isEmpty() && length + embed.getLength() > MessageEmbed.EMBED_MAX_LENGTH_BOT) {
+                messages.add(message);
+                message = new ArrayList<>();
+                length = 0;
+            }
+
+            message.add(embed);
+            length += embed.getLength();
+        }
+
+        if (!message.isEmpty()) {
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * Splits lines into as few embeds as possible.
+     *
+     * @param lines The lines of the summary
+     * @return the embeds
+     */
+    private List<MessageEmbed> toEmbeds(List<String> lines) {
+        List<MessageEmbed> embeds = new ArrayList<>();
+        StringBuilder description = new StringBuilder("We missed %s %s. Here's what happened:\n".formatted(plays.size(), plays.size() == 1 ? "play" : "plays"));
+
+        for (String line : lines) {
+            if (description.length() + line.length() + 1 > MAX_DESCRIPTION) {
+                if (embeds.size() == MAX_EMBEDS - 1) {
+                    description.append("...and more");
+                    break;
+                }
+
+                embeds.add(embed(embeds.isEmpty(), description.toString()));
+                description = new StringBuilder();
+            }
+
+            description.append(line).append("\n");
+        }
+
+        embeds.add(embed(embeds.isEmpty(), description.toString()));
+        return embeds;
+    }
+
+    private MessageEmbed embed(boolean first, String description) {
+        EmbedBuilder embed = new EmbedBuilder()
+            .setDescription(description)
+            .setColor(0x979797);
+
+        if (first) {
+            embed.setTitle("Catching Up");
+        }
+
+        return embed.build();
+    }
+
+    private static String halfHeader(String half, int runs, int outs) {
+        return "**%s**: %s %s, %s %s".formatted(half, runs, runs == 1 ? "run" : "runs", outs, outs == 1 ? "out" : "outs");
+    }
+
+    /**
+     * Gets the half-inning a play happened in.
+     *
+     * @param play The play
+     * @return the half-inning, e.g. "Top 3rd"
+     */
+    private static String halfInning(GameSnapshot.Play play) {
+        int inning = play.inning();
+        String suffix = switch (inning % 100 >= 11 && inning % 100 <= 13 ? 0 : inning % 10) {
+            case 1 -> "st";
+            case 2 -> "nd";
+            case 3 -> "rd";
+            default -> "th";
+        };
+
+        return "%s %s%s".formatted(play.topInning() ? "Top" : "Bottom", inning, suffix);
+    }
+}
@@ -0,0 +1,55 @@
+package pw.chew.mlb.objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.mapdb.DataInput2;
+import org.mapdb.DataOutput2;
+import org.mapdb.Serializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * How far a game has been posted. New states are compared to this to find what's new, and it's saved after every
+ * update, so a restart picks up exactly where it left off.
+ *
+ * @param atBatIndex The atBatIndex of the last posted play, or -1 if there was none
+ * @param playDescription The description of the last posted play
+ * @param advisoryCount How many advisories were posted
+ * @param inningState The inning state, e.g. "Top"
+ * @param awayRuns The away team's runs
+ * @param homeRuns The home team's runs
+ * @param outs The outs in the inning
+ */
+public record FeedCursor(int atBatIndex, String playDescription, int advisoryCount, String inningState,
+                         int awayRuns, int homeRuns, int outs) implements Serializable {
+    /**
+     * Creates a cursor pointing at the given state.
+     *
+     * @param snapshot The snapshot that was just posted
+     * @param advisoryCount How many advisories were posted
+     * @return the cursor
+     */
+    public static FeedCursor of(GameSnapshot snapshot, int advisoryCount) {
+        return new FeedCursor(snapshot.atBatIndex(), snapshot.currentPlayDescription(), advisoryCount, snapshot.inning().state(),
+            snapshot.away().runs(), snapshot.home().runs(), snapshot.outs());
+    }
+
+    public static class EntrySerializer implements Serializer<FeedCursor>, Serializable {
+        @Override
+        public void serialize(@NotNull DataOutput2 out, @NotNull FeedCursor value) throws IOException {
+            out.writeInt(value.atBatIndex());
+            out.writeUTF(value.playDescription());
+            out.writeInt(value.advisoryCount());
+            out.writeUTF(value.inningState());
+            out.writeInt(value.awayRuns());
+            out.writeInt(value.homeRuns());
+            out.writeInt(value.outs());
+        }
+
+        @Override
+        public FeedCursor deserialize(@NotNull DataInput2 input, int available) throws IOException {
+            return new FeedCursor(input.readInt(), input.readUTF(), input.readInt(), input.readUTF(),
+                input.readInt(), input.readInt(), input.readInt());
+        }
+    }
+}
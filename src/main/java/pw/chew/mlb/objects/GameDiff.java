@@ -0,0 +1,69 @@
+package pw.chew.mlb.objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Works out what happened in a game since it was last posted, as a list of {@link GameEvent}s.
+ * <br>
+ * The comparison is against the {@link FeedCursor} rather than the previous snapshot, as the cursor is what survives
+ * a restart. Every consumer reads the events instead of comparing scores and descriptions on its own.
+ */
+public class GameDiff {
+    // Prevent instantiation
+    private GameDiff() {
+    }
+
+    /**
+     * Finds the events between where posting left off and a new snapshot.
+     * Status events come first, so a game that was cancelled or suspended can be handled before anything else.
+     *
+     * @param fromStatus The status of the previous snapshot, or null if there was none, e.g. after a restart
+     * @param from Where posting left off
+     * @param to The new snapshot
+     * @param advisories The advisories in the new snapshot that weren't posted yet
+     * @return the events, in the order they should be handled
+     */
+    public static List<GameEvent> between(@Nullable GameSnapshot.Status fromStatus, FeedCursor from, GameSnapshot to, List<GameSnapshot.Advisory> advisories) {
+        List<GameEvent> events = new ArrayList<>(4 + advisories.size());
+
+        if (fromStatus == null || !fromStatus.detailedState().equals(to.status().detailedState())) {
+            events.add(new GameEvent.StatusChanged(to.status()));
+        }
+
+        if (to.status().isFinal()) {
+            events.add(new GameEvent.GameFinal());
+        }
+
+        if (to.atBatIndex() >= 0 && !to.currentPlayDescription().equals(from.playDescription())) {
+            events.add(new GameEvent.PlayCompleted(to.atBatIndex(), to.currentPlayDescription()));
+        }
+
+        int awayRuns = to.away().runs();
+        int homeRuns = to.home().runs();
+        if (awayRuns != from.awayRuns() || homeRuns != from.homeRuns()) {
+            events.add(new GameEvent.RunsScored(awayRuns, homeRuns, awayRuns - from.awayRuns(), homeRuns - from.homeRuns()));
+        }
+
+        // Fewer outs than before means a new half-inning started, so every out is new
+        int outs = to.outs();
+        if (outs != from.outs() && outs > 0) {
+            int added = outs > from.outs() ? outs - from.outs() : outs;
+            events.add(new GameEvent.OutRecorded(outs, added));
+        }
+
+        for (GameSnapshot.Advisory advisory : advisories) {
+            events.add(new GameEvent.Advisory(advisory));
+        }
+
+        // Ignore if the state is "Middle" or "End"
+        GameSnapshot.Inning inning = to.inning();
+        if (!from.inningState().equals(inning.state()) && !inning.isBreak()) {
+            events.add(new GameEvent.InningChanged(inning.state(), inning.ordinal()));
+        }
+
+        return events;
+    }
+}
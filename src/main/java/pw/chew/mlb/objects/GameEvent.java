@@ -0,0 +1,74 @@
+package pw.chew.mlb.objects;
+
+/**
+ * Something that happened in a game between two polls, as found by {@link GameDiff}.
+ */
+public sealed interface GameEvent {
+    /**
+     * A new at-bat was completed.
+     *
+     * @param atBatIndex The atBatIndex of the play
+     * @param description The description of the play
+     */
+    record PlayCompleted(int atBatIndex, String description) implements GameEvent {
+    }
+
+    /**
+     * Runs scored, by either team.
+     *
+     * @param awayRuns The away team's runs now
+     * @param homeRuns The home team's runs now
+     * @param awayScored How many runs the away team scored
+     * @param homeScored How many runs the home team scored
+     */
+    record RunsScored(int awayRuns, int homeRuns, int awayScored, int homeScored) implements GameEvent {
+        /**
+         * Whether the home team is the one that scored.
+         *
+         * @return true if the home team scored
+         */
+        public boolean homeTeamScored() {
+            return homeScored > 0;
+        }
+    }
+
+    /**
+     * Outs were made in the current half-inning.
+     *
+     * @param outs The outs in the inning now
+     * @param added How many outs were made
+     */
+    record OutRecorded(int outs, int added) implements GameEvent {
+    }
+
+    /**
+     * A new half-inning started. Breaks like "Middle" or "End" don't count.
+     *
+     * @param state The inning state, e.g. "Top"
+     * @param ordinal The inning's ordinal, e.g. "5th"
+     */
+    record InningChanged(String state, String ordinal) implements GameEvent {
+    }
+
+    /**
+     * A game advisory that wasn't posted yet, e.g. a mound visit.
+     *
+     * @param advisory The advisory
+     */
+    record Advisory(GameSnapshot.Advisory advisory) implements GameEvent {
+    }
+
+    /**
+     * The game's detailed status changed, e.g. to "Delayed" or "Postponed".
+     *
+     * @param status The new status
+     */
+    record StatusChanged(GameSnapshot.Status status) implements GameEvent {
+    }
+
+    /**
+     * The game is over. Whatever else happened in the same poll is still posted, then the game is finished.
+     */
+    record GameFinal() implements GameEvent {
+    }
+}
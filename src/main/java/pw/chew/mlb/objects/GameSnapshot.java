@@ -0,0 +1,690 @@
+package pw.chew.mlb.objects;
+
+import net.dv8tion.jda.api.utils.TimeFormat;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.MiscUtil;
+import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.util.FeedProjection;
+import pw.chew.mlb.util.JsonPullParser;
+import pw.chew.mlb.util.JsonTreeReader;
+
+import java.io.Reader;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable, typed view of a game at a single point in time.
+ * <br>
+ * Everything that's needed to follow a game or answer a command is read out of the live feed in one pass while it
+ * streams in, so comparing two polls or rendering a message never has to walk the feed again, and the rest of the feed
+ * is never built at all.
+ *
+ * @param gamePk The gamePk of the game
+ * @param status The status of the game
+ * @param away The away team
+ * @param home The home team
+ * @param inning The current inning
+ * @param outs The current number of outs this inning
+ * @param matchup Who is batting, pitching and on base, or null if nobody is up yet
+ * @param plays Every completed play so far, in order, so a play's atBatIndex is its index
+ * @param advisories Every game advisory so far, in order, e.g. mound visits and defensive changes
+ * @param innings The runs per inning, in order
+ * @param decisions The winning and losing pitcher, and who got the save, once they're known
+ * @param awayLineup The away team's batting order and probable pitcher
+ * @param homeLineup The home team's batting order and probable pitcher
+ * @param officialDate When the game is officially slated to start
+ * @param attendance The attendance, or -1 if it's not reported yet
+ * @param weather The weather at the ballpark, or null if it's not known
+ * @param advisedWait How many seconds MLB advises waiting before requesting the feed again
+ * @param timecode The timecode of this version of the feed, or null if the feed doesn't say
+ */
+public record GameSnapshot(
+    String gamePk,
+    Status status,
+    Team away,
+    Team home,
+    Inning inning,
+    int outs,
+    @Nullable Matchup matchup,
+    PlayStore.View plays,
+    List<Advisory> advisories,
+    List<InningLine> innings,
+    List<Decision> decisions,
+    Lineup awayLineup,
+    Lineup homeLineup,
+    OffsetDateTime officialDate,
+    int attendance,
+    @Nullable Weather weather,
+    int advisedWait,
+    @Nullable String timecode
+) {
+    /**
+     * Retrieves the latest snapshot of a game.
+     *
+     * @param gamePk The gamePk of the game
+     * @return the snapshot, or null if the feed couldn't be read
+     */
+    @Nullable
+    public static GameSnapshot fromPk(String gamePk) {
+        String res = RestClient.get(FeedProjection.liveFeedUrl(gamePk, FeedProjection.ALL)).asString();
+
+        try {
+            return parse(gamePk, res);
+        } catch (JSONException e) {
+            LoggerFactory.getLogger(GameSnapshot.class).error("Failed to read game data (error: {}): {}", e, res);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a snapshot out of a live feed response.
+     *
+     * @param gamePk The gamePk of the game
+     * @param res The raw response of the live feed
+     * @return the snapshot
+     * @throws JSONException if the response isn't a game feed
+     */
+    @NotNull
+    public static GameSnapshot parse(String gamePk, String res) {
+        return parse(gamePk, res, null, null);
+    }
+
+    /**
+     * Reads a snapshot out of a live feed response, only keeping advisories that weren't seen yet, and only reading
+     * plays that aren't stored yet.
+     *
+     * @param gamePk The gamePk of the game
+     * @param res The raw response of the live feed
+     * @param seen The advisories already seen, or null to keep all of them
+     * @param store The plays already read, which new ones are added to, or null to read every play
+     * @return the snapshot
+     * @throws JSONException if the response isn't a game feed
+     */
+    @NotNull
+    public static GameSnapshot parse(String gamePk, String res, @Nullable AdvisoryIndex seen, @Nullable PlayStore store) {
+        return SnapshotReader.read(gamePk, new JsonPullParser(res), seen, store);
+    }
+
+    /**
+     * Reads a snapshot out of a live feed as it streams in.
+     *
+     * @param gamePk The gamePk of the game
+     * @param body The live feed
+     * @return the snapshot
+     * @throws JSONException if the feed isn't a game feed
+     */
+    @NotNull
+    public static GameSnapshot read(String gamePk, Reader body) {
+        return read(gamePk, body, null, null);
+    }
+
+    /**
+     * Reads a snapshot out of a live feed as it streams in, only keeping advisories that weren't seen yet, and only
+     * reading plays that aren't stored yet.
+     *
+     * @param gamePk The gamePk of the game
+     * @param body The live feed
+     * @param seen The advisories already seen, or null to keep all of them
+     * @param store The plays already read, which new ones are added to, or null to read every play
+     * @return the snapshot
+     * @throws JSONException if the feed isn't a game feed
+     */
+    @NotNull
+    public static GameSnapshot read(String gamePk, Reader body, @Nullable AdvisoryIndex seen, @Nullable PlayStore store) {
+        return SnapshotReader.read(gamePk, new JsonPullParser(body), seen, store);
+    }
+
+    /**
+     * Reads a snapshot out of a live feed that's already held as a document, only keeping advisories that weren't
+     * seen yet, and only reading plays that aren't stored yet. The document is walked as it is, not written out again.
+     *
+     * @param gamePk The gamePk of the game
+     * @param document The live feed
+     * @param seen The advisories already seen, or null to keep all of them
+     * @param store The plays already read, which new ones are added to, or null to read every play
+     * @return the snapshot
+     * @throws JSONException if the document isn't a game feed
+     */
+    @NotNull
+    public static GameSnapshot read(String gamePk, JSONObject document, @Nullable AdvisoryIndex seen, @Nullable PlayStore store) {
+        return SnapshotReader.read(gamePk, new JsonTreeReader(document), seen, store);
+    }
+
+    /**
+     * Gets the last completed play. Might be null if no plays have been completed.
+     *
+     * @return the last completed play
+     */
+    @Nullable
+    public Play lastPlay() {
+        return plays.size() == 0 ? null : plays.play(plays.size() - 1);
+    }
+
+    /**
+     * Gets a completed play by its atBatIndex. Plays are stored in order, so this is a direct lookup.
+     *
+     * @param atBatIndex The atBatIndex of the play
+     * @return the play, or null if there is no such play
+     */
+    @Nullable
+    public Play play(int atBatIndex) {
+        if (atBatIndex < 0 || atBatIndex >= plays.size()) {
+            return null;
+        }
+
+        return plays.play(atBatIndex);
+    }
+
+    /**
+     * Gets every scoring play so far, in order.
+     *
+     * @return the scoring plays
+     */
+    public List<Play> scoringPlays() {
+        return plays.scoringPlays();
+    }
+
+    /**
+     * Gets the completed plays after one at-bat and before another, in order.
+     * Only the plays in between are looked at, so this is cheap no matter how long the game is.
+     *
+     * @param afterAtBatIndex The atBatIndex to start after
+     * @param beforeAtBatIndex The atBatIndex to stop before
+     * @return the completed plays in between
+     */
+    public List<Play> completedPlaysBetween(int afterAtBatIndex, int beforeAtBatIndex) {
+        List<Play> between = new ArrayList<>();
+        for (int i = Math.max(0, afterAtBatIndex + 1); i < Math.min(beforeAtBatIndex, plays.size()); i++) {
+            between.add(plays.play(i));
+        }
+
+        return between;
+    }
+
+    /**
+     * Gets the current "at bat" index. Basically just how many people have been up to bat so far.
+     * -1 if no plays have been completed.
+     *
+     * @return the current "at bat" index
+     */
+    public int atBatIndex() {
+        return plays.size() - 1;
+    }
+
+    /**
+     * Gets the current play description. If there has not been a play yet, returns an empty string.
+     *
+     * @return the current play description
+     */
+    @NotNull
+    public String currentPlayDescription() {
+        return plays.size() == 0 ? "" : plays.description(plays.size() - 1);
+    }
+
+    /**
+     * Checks if the current ball is in play. What is defined as "in play" is up to MLB's API.
+     *
+     * @return true if the current ball is in play, false otherwise
+     */
+    public boolean currentBallInPlay() {
+        return plays.size() > 0 && plays.ballInPlay(plays.size() - 1);
+    }
+
+    /**
+     * Gets the current hit. If there is no hit, or there is no statcast data, returns null.
+     *
+     * @return the current hit
+     */
+    @Nullable
+    public Hit currentHit() {
+        return plays.size() == 0 ? null : plays.hit(plays.size() - 1);
+    }
+
+    /**
+     * Gets the current hit info as a string. E.g., "Ball left the bat at a speed of 100 mph at a 45° angle, and travelled 400 feet."
+     * Will be null if there is no hit data for the current play.
+     *
+     * @return the current hit info as a string
+     */
+    @Nullable
+    public String hitInfo() {
+        Hit hit = currentHit();
+        return hit == null ? null : hit.info();
+    }
+
+    /**
+     * Checks to see if a hit is a potential homer. Only true if the hit was more than 300 feet
+     *
+     * @return true if the hit is a potential homer, false otherwise
+     */
+    public boolean potentialHomer() {
+        Hit hit = currentHit();
+        return hit != null && hit.potentialHomer();
+    }
+
+    /**
+     * Gets a team's lineup.
+     *
+     * @param awayOrHome The team, 'away' or 'home'
+     * @return the lineup
+     */
+    public Lineup lineup(String awayOrHome) {
+        return awayOrHome.equals("home") ? homeLineup : awayLineup;
+    }
+
+    /**
+     * Returns the date from {@link #officialDate()} as Month Day, Year
+     *
+     * @return the date as Month Day, Year
+     */
+    public String friendlyDate() {
+        return officialDate.format(DateTimeFormatter.ofPattern("MMMM d, uuuu"));
+    }
+
+    /**
+     * Topic friendly state. With the format:
+     * <br>[InningState InningOrdinal] AwayTeam AwayScore - HomeScore HomeTeam
+     * <br>Example: [Top 4th] Dodgers 2 - 1 Yankees
+     * @return The topic friendly state
+     */
+    public String topicState() {
+        if (status.isFinal()) {
+            return String.format("Final: %s %s - %s %s",
+                away.clubName(), away.runs(), home.runs(), home.clubName());
+        } else {
+            return String.format("[%s %s] %s %s - %s %s",
+                inning.state(), inning.ordinal(),
+                away.clubName(), away.runs(), home.runs(), home.clubName());
+        }
+    }
+
+    /**
+     * Builds a summary of the game. This includes the score, who won/is winning, and the current inning.
+     * Present tense if the game is ongoing, past tense if the game is over.
+     *
+     * @return the summary of the game
+     */
+    public String summary() {
+        if (status.isScheduled()) {
+            return "The game is scheduled to start at %s.".formatted(TimeFormat.DATE_TIME_SHORT.format(officialDate));
+        }
+
+        int homeRuns = home.runs();
+        int awayRuns = away.runs();
+
+        String winning = homeRuns > awayRuns ? home.clubName() : away.clubName();
+        String losing = homeRuns > awayRuns ? away.clubName() : home.clubName();
+
+        String score = homeRuns > awayRuns ? "%s - %s".formatted(homeRuns, awayRuns) : "%s - %s".formatted(awayRuns, homeRuns);
+
+        if (status.isFinal()) {
+            if (awayRuns == homeRuns) {
+                return "Well, that's odd; the %s tied the %s, %s.".formatted(away.clubName(), home.clubName(), score);
+            }
+
+            return "The %s beat the %s, %s.".formatted(winning, losing, score);
+        } else {
+            String currentInning = "the %s of the %s".formatted(inning.state(), inning.ordinal());
+
+            if (awayRuns == homeRuns) {
+                return "The %s are tied with the %s %s at %s.".formatted(away.clubName(), home.clubName(), score, currentInning);
+            } else {
+                return "The %s are leading the %s, %s in %s.".formatted(winning, losing, score, currentInning);
+            }
+        }
+    }
+
+    /**
+     * Builds the decisions of the game, one per line. E.g. "Winner: Clayton Kershaw (10-2)"
+     *
+     * @return The decisions of the game
+     */
+    public String friendlyDecisions() {
+        List<String> response = new ArrayList<>();
+        for (Decision decision : decisions) {
+            response.add("%s: %s %s".formatted(decision.role(), decision.name(), decision.note()));
+        }
+
+        return String.join("\n", response);
+    }
+
+    /**
+     * Returns a friendly string for the attendance
+     *
+     * @return the attendance, or why it isn't there
+     */
+    public String friendlyAttendance() {
+        if (status.isFinal() && attendance == -1) {
+            return "Not Reported";
+        } else if (attendance == -1) {
+            return "Not Yet Reported";
+        } else {
+            return MiscUtil.delimitNumber(attendance);
+        }
+    }
+
+    /**
+     * Shows the weather for this game, if available
+     *
+     * @return the weather, or that there's no information
+     */
+    public String friendlyWeather() {
+        if (weather == null) {
+            return "No Information Available";
+        }
+
+        return weather.toString();
+    }
+
+    /**
+     * The status of the game.
+     *
+     * @param abstractState The abstract state, e.g. "Preview", "Live" or "Final"
+     * @param detailedState The detailed state, e.g. "Pre-Game", "In Progress" or "Delayed: Rain"
+     */
+    public record Status(String abstractState, String detailedState) {
+        /**
+         * Check if a game is scheduled (or in pre-game).
+         * The game is scheduled, but hasn't started or been postponed/canceled.
+         *
+         * @return true if the game is scheduled, false otherwise
+         */
+        public boolean isScheduled() {
+            return detailedState.contains("Pre-Game") || detailedState.contains("Scheduled");
+        }
+
+        /**
+         * Check if a game is delayed, e.g. a rain delay before or during the game.
+         *
+         * @return true if the game is delayed, false otherwise
+         */
+        public boolean isDelayed() {
+            return detailedState.startsWith("Delayed");
+        }
+
+        /**
+         * Check if the teams are warming up, e.g. first pitch is only minutes away.
+         *
+         * @return true if the game is in warmup, false otherwise
+         */
+        public boolean isWarmup() {
+            return detailedState.equals("Warmup");
+        }
+
+        /**
+         * Check if a game is canceled.
+         * Only minor league and spring training games get canceled, postponement is not true for this method.
+         *
+         * @return true if the game is canceled, false otherwise
+         */
+        public boolean isCancelled() {
+            return detailedState.equals("Cancelled");
+        }
+
+        /**
+         * Check if a game is suspended.
+         *
+         * @return true if the game is suspended, false otherwise
+         */
+        public boolean isSuspended() {
+            return detailedState.contains("Suspended");
+        }
+
+        /**
+         * Check if a game is postponed.
+         *
+         * @return true if the game is postponed, false otherwise
+         */
+        public boolean isPostponed() {
+            return detailedState.contains("Postponed");
+        }
+
+        /**
+         * Whether a game is final.
+         *
+         * @return true if the game is final, false otherwise
+         */
+        public boolean isFinal() {
+            return abstractState.equals("Final");
+        }
+
+        /**
+         * Whether a game is live.
+         *
+         * @return true if the game is live, false otherwise
+         */
+        public boolean isLive() {
+            return abstractState.equals("Live");
+        }
+    }
+
+    /**
+     * A team, and how it's doing this game.
+     *
+     * @param id The team's ID on MLB's API
+     * @param name The team's full name, e.g. "Los Angeles Dodgers"
+     * @param abbreviation The team's abbreviation, e.g. "LAD"
+     * @param clubName The team's club name, e.g. "Dodgers"
+     * @param runs The team's runs
+     * @param hits The team's hits
+     * @param errors The team's errors
+     * @param leftOnBase How many runners the team left on base
+     */
+    public record Team(int id, String name, String abbreviation, String clubName, int runs, int hits, int errors, int leftOnBase) {
+    }
+
+    /**
+     * The current inning.
+     *
+     * @param number The inning number
+     * @param ordinal The inning as an ordinal, e.g. "4th"
+     * @param state Usually "Top" or "Bottom" but can also be "Middle" or "End"
+     */
+    public record Inning(int number, String ordinal, String state) {
+        /**
+         * Whether the inning is in between halves, e.g. "Middle" or "End".
+         *
+         * @return true if the inning is in a break
+         */
+        public boolean isBreak() {
+            return state.equals("Middle") || state.equals("End");
+        }
+    }
+
+    /**
+     * Who is up, and who is on base.
+     *
+     * @param batter The batter's full name, e.g. "Mike Trout"
+     * @param pitcher The pitcher's full name, e.g. "Jacob deGrom"
+     * @param onFirst Who is on first, or null if nobody is
+     * @param onSecond Who is on second, or null if nobody is
+     * @param onThird Who is on third, or null if nobody is
+     */
+    public record Matchup(String batter, String pitcher, @Nullable String onFirst, @Nullable String onSecond, @Nullable String onThird) {
+        /**
+         * Gets who is currently on a base. E.g., "1st: Mike Trout".
+         * Can also be "No one is on base." if no one is on base.
+         *
+         * @return who is currently on a base
+         */
+        public String bases() {
+            List<String> bases = new ArrayList<>();
+            if (onFirst != null) {
+                bases.add("1st: " + onFirst);
+            }
+            if (onSecond != null) {
+                bases.add("2nd: " + onSecond);
+            }
+            if (onThird != null) {
+                bases.add("3rd: " + onThird);
+            }
+
+            if (bases.isEmpty()) {
+                return "No one is on base.";
+            }
+
+            return String.join("\n", bases);
+        }
+    }
+
+    /**
+     * A play, or at-bat.
+     *
+     * @param atBatIndex The atBatIndex of the play
+     * @param inning The inning it happened in
+     * @param topInning Whether it happened in the top of the inning, so the away team was batting
+     * @param description The description of the play
+     * @param eventType The type of the play, e.g. "home_run", or null if the feed doesn't say
+     * @param awayScore The away team's score after the play
+     * @param homeScore The home team's score after the play
+     * @param rbi How many runs were batted in
+     * @param outs The outs in the inning after the play
+     * @param batterId The ID of the batter, or 0 if the feed doesn't say
+     * @param pitcherId The ID of the pitcher, or 0 if the feed doesn't say
+     * @param ballInPlay Whether a ball was put in play
+     * @param hit The hit, or null if there's no statcast data for it
+     * @param pitchingChanges The descriptions of pitching changes during the play
+     */
+    public record Play(int atBatIndex, int inning, boolean topInning, String description, @Nullable String eventType,
+                       int awayScore, int homeScore, int rbi, int outs, int batterId, int pitcherId, boolean ballInPlay,
+                       @Nullable Hit hit, List<String> pitchingChanges) {
+    }
+
+    /**
+     * Statcast data for a hit.
+     *
+     * @param playId Identifies the play on Baseball Savant, might be null
+     * @param launchSpeed How fast the ball left the bat, in mph
+     * @param launchAngle The angle the ball left the bat at, in degrees
+     * @param totalDistance How far the ball travelled, in feet
+     */
+    public record Hit(@Nullable String playId, float launchSpeed, float launchAngle, float totalDistance) {
+        /**
+         * Gets the hit info as a string. E.g., "Ball left the bat at a speed of 100 mph at a 45° angle, and travelled 400 feet."
+         *
+         * @return the hit info as a string
+         */
+        public String info() {
+            return String.format("Ball left the bat at a speed of %s mph at a %s° angle, and travelled %s feet.",
+                launchSpeed, launchAngle, totalDistance);
+        }
+
+        /**
+         * Checks to see if a hit is a potential homer. Only true if the hit was more than 300 feet
+         *
+         * @return true if the hit is a potential homer, false otherwise
+         */
+        public boolean potentialHomer() {
+            return totalDistance >= 300.0;
+        }
+    }
+
+    /**
+     * A game advisory, an event during a play that isn't a pitch. E.g. a mound visit or a defensive change.
+     *
+     * @param atBatIndex The atBatIndex of the play it happened during
+     * @param eventIndex Its index in the play's events
+     * @param event The event, e.g. "Mound Visit"
+     * @param description The description of the event
+     * @param scoringPlay Whether runs scored, e.g. on a wild pitch
+     * @param awayScore The away team's score after the event, if runs scored
+     * @param homeScore The home team's score after the event, if runs scored
+     */
+    public record Advisory(int atBatIndex, int eventIndex, String event, String description, boolean scoringPlay, int awayScore, int homeScore) {
+    }
+
+    /**
+     * The runs of a single inning on the line score. "-" if the half wasn't played (yet).
+     *
+     * @param awayRuns The away team's runs
+     * @param homeRuns The home team's runs
+     */
+    public record InningLine(String awayRuns, String homeRuns) {
+    }
+
+    /**
+     * A pitching decision.
+     *
+     * @param role "Winner", "Loser" or "Save"
+     * @param name The pitcher's full name
+     * @param note The pitcher's note, e.g. "(10-2)"
+     */
+    public record Decision(String role, String name, String note) {
+    }
+
+    /**
+     * A team's lineup.
+     *
+     * @param battingOrder The batting order, empty until it's announced
+     * @param probablePitcher The probable pitcher, or null if there's none yet
+     */
+    public record Lineup(List<Player> battingOrder, @Nullable Player probablePitcher) {
+        public static final Lineup EMPTY = new Lineup(List.of(), null);
+    }
+
+    /**
+     * A player in a lineup, with their season stats.
+     *
+     * @param id The player's ID
+     * @param name The player's full name
+     * @param position The abbreviation of the player's position, e.g. "SS" or "P"
+     * @param era The player's ERA, e.g. "3.45"
+     * @param wins The player's wins as a pitcher
+     * @param losses The player's losses as a pitcher
+     * @param strikeouts The player's strikeouts as a pitcher
+     * @param avg The player's batting average, e.g. ".274"
+     * @param ops The player's OPS, e.g. ".833"
+     * @param homers The player's home runs
+     */
+    public record Player(int id, String name, String position, String era, int wins, int losses, int strikeouts, String avg, String ops, int homers) {
+        public boolean isPitcher() {
+            return position.equals("P");
+        }
+
+        public String friendlyString() {
+            if (isPitcher()) {
+                return "%s (%s - %s | %s ERA | %s K)".formatted(name, wins, losses, era, strikeouts);
+            } else {
+                return "%s (%s) - %s AVG, %s OPS, %s HR".formatted(name, position, avg, ops, homers);
+            }
+        }
+    }
+
+    /**
+     * The weather at the ballpark.
+     *
+     * @param condition The condition, e.g. "Sunny"
+     * @param temp The temperature, in Fahrenheit
+     * @param wind The wind, e.g. "5 mph, Out To CF"
+     */
+    public record Weather(String condition, int temp, String wind) {
+        @Override
+        public String toString() {
+            String conditionEmoji = switch (condition) {
+                case "Clear", "Sunny" -> "☀️";
+                case "Cloudy" -> "☁️";
+                case "Drizzle" -> "⛈️";
+                case "Overcast" -> "🌥️";
+                case "Partly Cloudy" -> "⛅";
+                case "Rain" -> "🌧️";
+                case "Snow" -> "🌨️";
+                default -> "";
+            };
+
+            double tempC = Math.round((temp - 32) * 5.0 / 9.0 * 10) / 10.0;
+            String temperature = "%s ºF (%s ºC)".formatted(temp, tempC);
+
+            return """
+                Condition: %s %s
+                Temp: %s
+                Wind: %s
+                """.formatted(conditionEmoji, condition, temperature, wind);
+        }
+    }
+}
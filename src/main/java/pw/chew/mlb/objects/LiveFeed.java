@@ -0,0 +1,445 @@
+package pw.chew.mlb.objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.chew.chewbotcca.util.RestClient;
+import pw.chew.mlb.util.FeedProjection;
+import pw.chew.mlb.util.JsonPatch;
+import pw.chew.mlb.util.StageMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the latest live feed for a single game.
+ * <br>
+ * In incremental mode, the full feed is only downloaded once. After that, only the changes since the last timecode
+ * are requested from the diffPatch endpoint and applied to the held document. Whenever the patch chain breaks, the
+ * full feed is downloaded again. Otherwise, every fetch reads the feed as bytes into a buffer the polling thread keeps
+ * reusing, and reads a {@link GameSnapshot} out of those bytes, without ever turning the response into a String or building the
+ * document.
+ * <br>
+ * When gated, every poll first checks the small timestamps list of the feed, and only fetches when a new timecode
+ * has shown up since the last fetch.
+ * <br>
+ * A fetched feed that's exactly the same as the last one isn't parsed at all. The bytes are hashed as they come in, and
+ * only a hash of the last body is kept to tell.
+ */
+public class LiveFeed {
+    private static final Logger logger = LoggerFactory.getLogger(LiveFeed.class);
+    public static final String STATS_HOST = "statsapi.mlb.com";
+    public static final String STATS_API = "https://" + STATS_HOST;
+
+    /**
+     * Whether new feeds use the diffPatch endpoint. Set from "feed.diffPatch" in bot.properties.
+     */
+    public static boolean incremental = false;
+    /**
+     * Whether new feeds check the timestamps list before fetching. Set from "feed.timestampGate" in bot.properties.
+     */
+    public static boolean gated = true;
+
+    /**
+     * 64-bit FNV-1a, to hash bodies. Collisions between two consecutive polls of the same game are practically
+     * impossible, especially as the length has to match too.
+     */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final AtomicLong skippedFetches = new AtomicLong();
+    private static final AtomicLong performedFetches = new AtomicLong();
+    /**
+     * Per gamePk, how many fetched bodies were the same as the one before, and how many were fetched at all.
+     */
+    private static final Map<String, BodyCounts> bodyCounts = new ConcurrentHashMap<>();
+    /**
+     * How many games the identical body stats list, besides the total.
+     */
+    private static final int STATS_GAMES = 5;
+    /**
+     * Holds the body being read, one per polling thread rather than per game. Only grows, to the size of the biggest
+     * feed that thread has read.
+     */
+    private static final ThreadLocal<byte[]> bodyBuffers = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+    /**
+     * Time spent waiting on MLB, including timestamp checks. Streamed feeds only count until the body starts.
+     */
+    public static final StageMetrics fetchTime = new StageMetrics("Fetch");
+    /**
+     * Time spent turning responses into a snapshot, including applying patches. Streamed feeds are read while
+     * they're parsed, so this includes receiving them.
+     */
+    public static final StageMetrics parseTime = new StageMetrics("Parse");
+
+    private final String gamePk;
+    private final String baseUrl;
+    private final boolean useDiffPatch;
+    private final boolean useGate;
+    private final AdvisoryIndex advisories;
+    private final PlayStore plays = new PlayStore();
+
+    private JSONObject document = null;
+    private String timecode = null;
+    private final BodyCounts counts;
+    /**
+     * The hash and length of the last body that was read, so an identical one can be skipped.
+     */
+    private long lastBodyHash = 0;
+    private long lastBodyLength = -1;
+
+    /**
+     * Creates a feed for a game against MLB's API, using the configured mode.
+     *
+     * @param gamePk The gamePk of the game
+     */
+    public LiveFeed(String gamePk) {
+        this(gamePk, STATS_API, incremental, gated, new AdvisoryIndex());
+    }
+
+    /**
+     * Creates a feed for a game against MLB's API, using the configured mode.
+     *
+     * @param gamePk The gamePk of the game
+     * @param advisories The advisories already seen, snapshots only contain the ones after it
+     */
+    public LiveFeed(String gamePk, AdvisoryIndex advisories) {
+        this(gamePk, STATS_API, incremental, gated, advisories);
+    }
+
+    /**
+     * Creates a feed for a game.
+     *
+     * @param gamePk The gamePk of the game
+     * @param baseUrl The API to talk to, e.g. a local stub serving recorded patches
+     * @param useDiffPatch Whether to request patches instead of the full feed every time
+     * @param useGate Whether to check the timestamps list before fetching
+     * @param advisories The advisories already seen, snapshots only contain the ones after it
+     */
+    public LiveFeed(String gamePk, String baseUrl, boolean useDiffPatch, boolean useGate, AdvisoryIndex advisories) {
+        this.gamePk = gamePk;
+        this.baseUrl = baseUrl;
+        this.useDiffPatch = useDiffPatch;
+        this.useGate = useGate;
+        this.advisories = advisories;
+        this.counts = bodyCounts.computeIfAbsent(gamePk, k -> new BodyCounts());
+    }
+
+    /**
+     * Retrieves the latest state of the game, unless the feed hasn't changed since the last poll.
+     *
+     * @return The snapshot, or null if nothing changed since the last poll
+     * @throws RuntimeException if the feed couldn't be retrieved or read
+     */
+    @Nullable
+    public GameSnapshot poll() {
+        if (useGate && timecode != null && timecode.equals(latestTimecode())) {
+            skippedFetches.incrementAndGet();
+            return null;
+        }
+
+        return fetch();
+    }
+
+    /**
+     * Retrieves the latest state of the game, ignoring the gate.
+     *
+     * @return The snapshot, or null if the feed is exactly the same as the last one
+     * @throws RuntimeException if the feed couldn't be retrieved or read
+     */
+    @Nullable
+    public GameSnapshot fetch() {
+        performedFetches.incrementAndGet();
+
+        if (!useDiffPatch) {
+            long start = System.nanoTime();
+            try (RestClient.StreamedResponse res = RestClient.stream(FeedProjection.liveFeedUrl(gamePk, FeedProjection.ALL))) {
+                fetchTime.record(start);
+                // Error bodies can still be JSON, they must not be read as a game
+                if (!res.success()) {
+                    throw new IllegalStateException("Live feed for gamePk %s returned %s".formatted(gamePk, res.code()));
+                }
+                counts.fetched.increment();
+                return readStreamed(res);
+            }
+        }
+
+        if (document == null || timecode == null) {
+            return fetchFull();
+        }
+
+        long start = System.nanoTime();
+        RestClient.Response res = RestClient.getFresh("%s/api/v1.1/game/%s/feed/live/diffPatch?language=en&startTimecode=%s".formatted(baseUrl, gamePk, timecode));
+        fetchTime.record(start);
+        if (!res.success()) {
+            logger.debug("diffPatch for gamePk {} returned {}, fetching the full feed", gamePk, res.code());
+            return fetchFull();
+        }
+
+        start = System.nanoTime();
+        try {
+            Object body = new JSONTokener(res.asString()).nextValue();
+
+            // If we're too far behind, MLB sends the whole feed instead of patches
+            if (body instanceof JSONObject full) {
+                GameSnapshot snapshot = replaceDocument(full);
+                parseTime.record(start);
+                return snapshot;
+            }
+
+            JSONArray patchSets = (JSONArray) body;
+            JSONObject patched = document;
+            for (int i = 0; i < patchSets.length(); i++) {
+                patched = JsonPatch.apply(patched, patchSets.getJSONObject(i).getJSONArray("diff"));
+            }
+
+            GameSnapshot snapshot = replaceDocument(patched);
+            parseTime.record(start);
+            return snapshot;
+        } catch (JsonPatch.PatchException | JSONException | ClassCastException e) {
+            logger.warn("Patch chain broke for gamePk {} ({}), fetching the full feed", gamePk, e.getMessage());
+            return fetchFull();
+        }
+    }
+
+    /**
+     * The timecode of the held document, or null if there is none yet.
+     *
+     * @return the timecode, e.g. "20250401_231512"
+     */
+    public String timecode() {
+        return timecode;
+    }
+
+    /**
+     * The amount of polls that were skipped because the feed hadn't changed.
+     *
+     * @return the amount of skipped fetches
+     */
+    public static long skippedFetches() {
+        return skippedFetches.get();
+    }
+
+    /**
+     * The amount of times the feed was actually fetched.
+     *
+     * @return the amount of performed fetches
+     */
+    public static long performedFetches() {
+        return performedFetches.get();
+    }
+
+    /**
+     * Summarizes how many fetched feeds were skipped for being the same as the one before, in total and for the games
+     * with the most of them. Short enough for an embed field, however many games are polled.
+     *
+     * @return the total, then a line per game, e.g. "717465: 12/40 identical (30%)", or "None" if nothing was fetched
+     */
+    public static String identicalBodyStats() {
+        long totalFetched = 0;
+        long totalIdentical = 0;
+        List<GameBodies> games = new ArrayList<>();
+        for (Map.Entry<String, BodyCounts> entry : bodyCounts.entrySet()) {
+            GameBodies game = new GameBodies(entry.getKey(), entry.getValue().identical.sum(), entry.getValue().fetched.sum());
+            if (game.fetched() > 0) {
+                totalFetched += game.fetched();
+                totalIdentical += game.identical();
+                games.add(game);
+            }
+        }
+
+        if (games.isEmpty()) {
+            return "None";
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("Total: %s/%s identical (%s%%) over %s games".formatted(totalIdentical, totalFetched, totalIdentical * 100 / totalFetched, games.size()));
+        games.sort(Comparator.comparingLong(GameBodies::identical).reversed());
+        for (GameBodies game : games.subList(0, Math.min(STATS_GAMES, games.size()))) {
+            lines.add("%s: %s/%s identical (%s%%)".formatted(game.gamePk(), game.identical(), game.fetched(), game.identical() * 100 / game.fetched()));
+        }
+
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Forgets the body stats of a game, once it's no longer polled.
+     *
+     * @param gamePk The gamePk of the game
+     */
+    public static void forget(String gamePk) {
+        bodyCounts.remove(gamePk);
+    }
+
+    /**
+     * Reads a streamed feed into this thread's buffer, hashing it on the way, and only reads a snapshot out of it if
+     * it's different from the last one.
+     *
+     * @param res The streamed feed
+     * @return the snapshot, or null if the feed is exactly the same as the last one
+     */
+    @Nullable
+    private GameSnapshot readStreamed(RestClient.StreamedResponse res) {
+        long start = System.nanoTime();
+        Body body;
+        try {
+            body = readBody(res.body());
+        } catch (IOException e) {
+            parseTime.record(start);
+            throw new UncheckedIOException(e);
+        }
+
+        if (body.hash() == lastBodyHash && body.length() == lastBodyLength) {
+            parseTime.record(start);
+            counts.identical.increment();
+            return null;
+        }
+
+        GameSnapshot snapshot;
+        try {
+            Reader reader = new InputStreamReader(new ByteArrayInputStream(body.bytes(), 0, body.length()), StandardCharsets.UTF_8);
+            snapshot = GameSnapshot.read(gamePk, reader, advisories, plays);
+        } catch (JSONException | UncheckedIOException e) {
+            timecode = null;
+            lastBodyLength = -1;
+            throw e;
+        } finally {
+            parseTime.record(start);
+        }
+
+        lastBodyHash = body.hash();
+        lastBodyLength = body.length();
+        timecode = snapshot.timecode();
+        return snapshot;
+    }
+
+    /**
+     * Reads a body into this thread's buffer, hashing it on the way.
+     *
+     * @param in The body
+     * @return the body, its bytes stay valid until this thread reads the next one
+     * @throws IOException If the body couldn't be read
+     */
+    static Body readBody(InputStream in) throws IOException {
+        byte[] buffer = bodyBuffers.get();
+        int length = 0;
+        long hash = FNV_OFFSET;
+        int read;
+        while (true) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+                bodyBuffers.set(buffer);
+            }
+            read = in.read(buffer, length, buffer.length - length);
+            if (read == -1) {
+                break;
+            }
+            for (int i = length; i < length + read; i++) {
+                hash = (hash ^ (buffer[i] & 0xff)) * FNV_PRIME;
+            }
+            length += read;
+        }
+
+        return new Body(buffer, length, hash);
+    }
+
+    /**
+     * Checks the feed's timestamps list for the newest timecode.
+     *
+     * @return the newest timecode, or null if it couldn't be checked
+     */
+    @Nullable
+    private String latestTimecode() {
+        long start = System.nanoTime();
+        RestClient.Response res = RestClient.getFresh("%s/api/v1.1/game/%s/feed/live/timestamps".formatted(baseUrl, gamePk));
+        fetchTime.record(start);
+        if (!res.success()) {
+            return null;
+        }
+
+        try {
+            JSONArray timestamps = res.asJSONArray();
+            return timestamps.isEmpty() ? null : timestamps.getString(timestamps.length() - 1);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Downloads the full feed and replaces the held document with it.
+     *
+     * @return the snapshot
+     */
+    private GameSnapshot fetchFull() {
+        long start = System.nanoTime();
+        String res = RestClient.getFresh("%s/api/v1.1/game/%s/feed/live?language=en".formatted(baseUrl, gamePk)).asString();
+        fetchTime.record(start);
+
+        start = System.nanoTime();
+        try {
+            GameSnapshot snapshot = replaceDocument(new JSONObject(res));
+            parseTime.record(start);
+            return snapshot;
+        } catch (JSONException e) {
+            logger.error("Failed to parse full feed for gamePk {}: {}", gamePk, e.getMessage());
+            document = null;
+            timecode = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Holds a new document, and reads the snapshot out of it.
+     *
+     * @param newDocument The new document
+     * @return the snapshot
+     */
+    private GameSnapshot replaceDocument(JSONObject newDocument) {
+        if (!newDocument.has("gameData")) {
+            throw new JSONException("Feed has no gameData");
+        }
+
+        JSONObject metaData = newDocument.optJSONObject("metaData");
+        document = newDocument;
+        timecode = metaData == null ? null : metaData.optString("timeStamp", null);
+
+        // The document has to be kept to apply patches to, so the snapshot is read by walking it
+        return GameSnapshot.read(gamePk, newDocument, advisories, plays);
+    }
+
+    /**
+     * A body read into a thread's buffer.
+     *
+     * @param bytes The buffer, only the first {@code length} bytes are the body
+     * @param length The length of the body
+     * @param hash The FNV-1a hash of the body
+     */
+    record Body(byte[] bytes, int length, long hash) {
+    }
+
+    private record GameBodies(String gamePk, long identical, long fetched) {
+    }
+
+    private static class BodyCounts {
+        private final LongAdder fetched = new LongAdder();
+        private final LongAdder identical = new LongAdder();
+    }
+}
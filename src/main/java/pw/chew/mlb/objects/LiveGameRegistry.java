@@ -0,0 +1,71 @@
+package pw.chew.mlb.objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The latest snapshot of every game the poller is following, so commands and buttons for those games can answer from
+ * memory instead of fetching the feed again.
+ * <br>
+ * Snapshots are immutable, so publishing one just swaps the reference, and readers never lock or see a half-updated
+ * game.
+ */
+public class LiveGameRegistry {
+    private static final Map<String, GameSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    // Prevent instantiation
+    private LiveGameRegistry() {
+    }
+
+    /**
+     * Publishes the latest snapshot of a game being polled.
+     *
+     * @param snapshot The snapshot
+     */
+    public static void publish(GameSnapshot snapshot) {
+        snapshots.put(snapshot.gamePk(), snapshot);
+    }
+
+    /**
+     * Forgets a game, once it's no longer polled.
+     *
+     * @param gamePk The gamePk of the game
+     */
+    public static void remove(String gamePk) {
+        snapshots.remove(gamePk);
+    }
+
+    /**
+     * Gets the latest snapshot the poller has of a game.
+     *
+     * @param gamePk The gamePk of the game
+     * @return the snapshot, or null if the game isn't being polled
+     */
+    @Nullable
+    public static GameSnapshot get(String gamePk) {
+        return snapshots.get(gamePk);
+    }
+
+    /**
+     * Gets the latest snapshot of a game, from the poller if it's following the game, otherwise from MLB.
+     *
+     * @param gamePk The gamePk of the game
+     * @return the snapshot, or null if the game isn't polled and its feed couldn't be read
+     */
+    @Nullable
+    public static GameSnapshot snapshot(String gamePk) {
+        GameSnapshot snapshot = snapshots.get(gamePk);
+        return snapshot != null ? snapshot : GameSnapshot.fromPk(gamePk);
+    }
+
+    /**
+     * How many games have a published snapshot.
+     *
+     * @return the amount of games
+     */
+    public static int size() {
+        return snapshots.size();
+    }
+}
@@ -0,0 +1,96 @@
+package pw.chew.mlb.objects;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Everything needed to post a play and follow up on it, without holding on to the snapshot it came from. Messages are
+ * sent after a delay and homer lookups retry for a while, so this is what stays in memory for them. The lookups
+ * themselves are made by {@link pw.chew.mlb.listeners.HomerLookups}.
+ *
+ * @param gamePk The gamePk of the game
+ * @param playId The statcast ID of the hit, or null if there is no hit data
+ * @param ballInPlay Whether the ball was put in play
+ * @param potentialHomer Whether the hit went far enough to maybe be a homer somewhere
+ * @param scoringPlay Whether runs scored
+ * @param homer Whether the play itself was a homer
+ * @param awayAbbreviation The away team's abbreviation, to check the homer against their ballpark
+ * @param embed The rendered play
+ */
+public record PlayDescriptor(String gamePk, @Nullable String playId, boolean ballInPlay, boolean potentialHomer,
+                             boolean scoringPlay, boolean homer, String awayAbbreviation, MessageEmbed embed) {
+    /**
+     * Describes the latest play of a snapshot.
+     *
+     * @param snapshot The snapshot with the play
+     * @param embed The rendered play
+     * @param scoringPlay Whether runs scored
+     * @return the descriptor
+     */
+    public static PlayDescriptor of(GameSnapshot snapshot, MessageEmbed embed, boolean scoringPlay) {
+        GameSnapshot.Hit hit = snapshot.currentHit();
+        String description = snapshot.currentPlayDescription();
+
+        return new PlayDescriptor(
+            snapshot.gamePk(),
+            hit == null ? null : hit.playId(),
+            snapshot.currentBallInPlay(),
+            hit != null && hit.potentialHomer(),
+            scoringPlay,
+            description.contains("homers") || description.contains("grand slam"),
+            snapshot.away().abbreviation(),
+            embed
+        );
+    }
+
+    /**
+     * Gets the homer description from already retrieved homer at parks data.
+     * If statcast returned an error, a generic error message is returned.
+     *
+     * @param homers The homer at parks data, or null if there is no hit data
+     * @return the homer description
+     */
+    @Nullable
+    public String homerDescription(@Nullable JSONObject homers) {
+        if (homers == null) {
+            return null;
+        }
+
+        if (homers.has("error")) {
+            return "Failed to retrieve homer data. Thanks MLB!";
+        }
+
+        JSONArray hrs = homers.getJSONArray("hr");
+        JSONArray not = homers.getJSONArray("not");
+
+        int ballparks = hrs.length();
+
+        // now we see if it was away/home. if it's away, we'll see if it was a homer at their home field
+        boolean awayBpHomer = false;
+        String awayBallpark = null;
+
+        for (Object bpObj : hrs) {
+            JSONObject bp = (JSONObject) bpObj;
+            if (bp.getString("team_abbrev").equals(awayAbbreviation)) {
+                awayBpHomer = true;
+                awayBallpark = bp.getString("name");
+            }
+        }
+        if (awayBallpark == null) {
+            for (Object bpObj : not) {
+                JSONObject bp = (JSONObject) bpObj;
+                if (bp.getString("team_abbrev").equals(awayAbbreviation)) {
+                    awayBallpark = bp.getString("name");
+                }
+            }
+        }
+
+        // was it a homer or not? this determines if we say "would've been a homer" versus "would also be a homer"
+        return "This %s a homer at %s / 30 ballparks%s.".formatted(
+            homer ? "would also be" : "would've been", ballparks,
+            ballparks > 0 ? (", %s %s".formatted(awayBpHomer ? "including" : "but not", awayBallpark)) : ""
+        );
+    }
+}
@@ -0,0 +1,396 @@
+package pw.chew.mlb.objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every completed play of a game, stored column by column in primitive arrays, with descriptions and event types
+ * interned into a string table.
+ * <br>
+ * A play is added the first time it's seen completed, and feeds read with the store skip the plays it already has,
+ * except for the last one, which is read again every time in case it's corrected, e.g. after a review. So a poll only
+ * costs as much as the plays that are new. Scoring plays, hit data, and per-inning lookups are scans over the columns,
+ * and {@link GameSnapshot.Play} records are only built for the plays that are asked for.
+ * <br>
+ * Not thread-safe, each game's poller owns its own. {@link View}s are safe to share, as rows a view can see are never
+ * written to. Growing, and replacing the last play, copy into new arrays instead of touching the ones a view holds.
+ */
+public class PlayStore {
+    private static final int TOP_INNING = 1;
+    private static final int BALL_IN_PLAY = 2;
+    private static final int SCORING = 4;
+    private static final int HAS_HIT = 8;
+
+    private Columns columns = new Columns(64);
+    private int size;
+
+    // Pitching changes of every play, in play order, a play's first one is in its changeStart column
+    private int[] changes = new int[16];
+    private int changeCount;
+
+    // Interned strings
+    private String[] strings = new String[128];
+    private int stringCount;
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private View view = null;
+
+    /**
+     * How many plays are stored. Plays are stored in order, so this is also the atBatIndex of the next one.
+     *
+     * @return the amount of plays
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stores the next completed play.
+     *
+     * @param play The play, its atBatIndex has to be {@link #size()}
+     * @param scoring Whether it's a scoring play
+     * @throws IllegalArgumentException if the play isn't the next one
+     */
+    public void add(GameSnapshot.Play play, boolean scoring) {
+        if (play.atBatIndex() != size) {
+            throw new IllegalArgumentException("Expected atBatIndex " + size + ", got " + play.atBatIndex());
+        }
+
+        if (size == columns.capacity()) {
+            columns = columns.grow(size * 2);
+        }
+
+        GameSnapshot.Hit hit = play.hit();
+        int flags = (play.topInning() ? TOP_INNING : 0) | (play.ballInPlay() ? BALL_IN_PLAY : 0)
+            | (scoring ? SCORING : 0) | (hit != null ? HAS_HIT : 0);
+
+        Columns c = columns;
+        c.inning[size] = (short) play.inning();
+        c.flags[size] = (byte) flags;
+        c.outs[size] = (byte) play.outs();
+        c.rbi[size] = (byte) play.rbi();
+        c.awayScore[size] = (short) play.awayScore();
+        c.homeScore[size] = (short) play.homeScore();
+        c.batterId[size] = play.batterId();
+        c.pitcherId[size] = play.pitcherId();
+        c.description[size] = intern(play.description());
+        c.eventType[size] = play.eventType() == null ? -1 : intern(play.eventType());
+        if (hit != null) {
+            c.playId[size] = hit.playId();
+            c.launchSpeed[size] = hit.launchSpeed();
+            c.launchAngle[size] = hit.launchAngle();
+            c.totalDistance[size] = hit.totalDistance();
+        }
+
+        c.changeStart[size] = changeCount;
+        for (String change : play.pitchingChanges()) {
+            if (changeCount == changes.length) {
+                changes = Arrays.copyOf(changes, changeCount * 2);
+            }
+            changes[changeCount++] = intern(change);
+        }
+
+        size++;
+    }
+
+    /**
+     * Replaces the last stored play, if it changed since it was stored.
+     *
+     * @param play The play, its atBatIndex has to be the last one
+     * @param scoring Whether it's a scoring play
+     * @throws IllegalArgumentException if the play isn't the last one
+     */
+    public void replaceLast(GameSnapshot.Play play, boolean scoring) {
+        int last = size - 1;
+        if (play.atBatIndex() != last) {
+            throw new IllegalArgumentException("Expected atBatIndex " + last + ", got " + play.atBatIndex());
+        }
+
+        boolean wasScoring = (columns.flags[last] & SCORING) != 0;
+        if (wasScoring == scoring && view().play(last).equals(play)) {
+            return;
+        }
+
+        // Published views can see the row, so it's written into copies
+        columns = columns.grow(columns.capacity());
+        changes = Arrays.copyOf(changes, changes.length);
+        changeCount = columns.changeStart[last];
+        size = last;
+        add(play, scoring);
+    }
+
+    /**
+     * Gets an immutable view of the plays stored so far. Plays added later don't show up in it.
+     *
+     * @return the view
+     */
+    public View view() {
+        if (view == null || view.size != size || view.columns != columns) {
+            view = new View(columns, size, changes, changeCount, strings);
+        }
+        return view;
+    }
+
+    private int intern(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+
+        if (stringCount == strings.length) {
+            strings = Arrays.copyOf(strings, stringCount * 2);
+        }
+        strings[stringCount] = value;
+        codes.put(value, stringCount);
+        return stringCount++;
+    }
+
+    /**
+     * The per-play columns. They always grow together, so a view only needs to hold on to one of these.
+     */
+    private static class Columns {
+        private final short[] inning;
+        private final byte[] flags;
+        private final byte[] outs;
+        private final byte[] rbi;
+        private final short[] awayScore;
+        private final short[] homeScore;
+        private final int[] batterId;
+        private final int[] pitcherId;
+        private final int[] description;
+        private final int[] eventType;
+        private final int[] changeStart;
+        private final String[] playId;
+        private final float[] launchSpeed;
+        private final float[] launchAngle;
+        private final float[] totalDistance;
+
+        private Columns(int capacity) {
+            this(new short[capacity], new byte[capacity], new byte[capacity], new byte[capacity], new short[capacity],
+                new short[capacity], new int[capacity], new int[capacity], new int[capacity], new int[capacity],
+                new int[capacity], new String[capacity], new float[capacity], new float[capacity], new float[capacity]);
+        }
+
+        private Columns(short[] inning, byte[] flags, byte[] outs, byte[] rbi, short[] awayScore, short[] homeScore,
+                        int[] batterId, int[] pitcherId, int[] description, int[] eventType, int[] changeStart,
+                        String[] playId, float[] launchSpeed, float[] launchAngle, float[] totalDistance) {
+            this.inning = inning;
+            this.flags = flags;
+            this.outs = outs;
+            this.rbi = rbi;
+            this.awayScore = awayScore;
+            this.homeScore = homeScore;
+            this.batterId = batterId;
+            this.pitcherId = pitcherId;
+            this.description = description;
+            this.eventType = eventType;
+            this.changeStart = changeStart;
+            this.playId = playId;
+            this.launchSpeed = launchSpeed;
+            this.launchAngle = launchAngle;
+            this.totalDistance = totalDistance;
+        }
+
+        private int capacity() {
+            return inning.length;
+        }
+
+        private Columns grow(int capacity) {
+            return new Columns(Arrays.copyOf(inning, capacity), Arrays.copyOf(flags, capacity),
+                Arrays.copyOf(outs, capacity), Arrays.copyOf(rbi, capacity), Arrays.copyOf(awayScore, capacity),
+                Arrays.copyOf(homeScore, capacity), Arrays.copyOf(batterId, capacity), Arrays.copyOf(pitcherId, capacity),
+                Arrays.copyOf(description, capacity), Arrays.copyOf(eventType, capacity),
+                Arrays.copyOf(changeStart, capacity), Arrays.copyOf(playId, capacity),
+                Arrays.copyOf(launchSpeed, capacity), Arrays.copyOf(launchAngle, capacity),
+                Arrays.copyOf(totalDistance, capacity));
+        }
+    }
+
+    /**
+     * The plays of a game up to some point, as held by a {@link GameSnapshot}. Indexes are atBatIndexes.
+     */
+    public static final class View {
+        private final Columns columns;
+        private final int size;
+        private final int[] changes;
+        private final int changeCount;
+        private final String[] strings;
+
+        private View(Columns columns, int size, int[] changes, int changeCount, String[] strings) {
+            this.columns = columns;
+            this.size = size;
+            this.changes = changes;
+            this.changeCount = changeCount;
+            this.strings = strings;
+        }
+
+        /**
+         * How many completed plays there are.
+         *
+         * @return the amount of plays
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Builds a completed play.
+         *
+         * @param atBatIndex The atBatIndex of the play
+         * @return the play
+         * @throws IndexOutOfBoundsException if there is no such play
+         */
+        public GameSnapshot.Play play(int atBatIndex) {
+            Columns c = columns;
+            int i = checkIndex(atBatIndex);
+            int type = c.eventType[i];
+
+            return new GameSnapshot.Play(i, c.inning[i], topInning(i), strings[c.description[i]],
+                type == -1 ? null : strings[type], c.awayScore[i], c.homeScore[i], c.rbi[i], c.outs[i],
+                c.batterId[i], c.pitcherId[i], ballInPlay(i), hit(i), pitchingChanges(i));
+        }
+
+        /**
+         * Gets the description of a play, without building the rest of it.
+         *
+         * @param atBatIndex The atBatIndex of the play
+         * @return the description
+         */
+        public String description(int atBatIndex) {
+            return strings[columns.description[checkIndex(atBatIndex)]];
+        }
+
+        /**
+         * Whether the ball was put in play during a play.
+         *
+         * @param atBatIndex The atBatIndex of the play
+         * @return true if the ball was put in play
+         */
+        public boolean ballInPlay(int atBatIndex) {
+            return (columns.flags[checkIndex(atBatIndex)] & BALL_IN_PLAY) != 0;
+        }
+
+        /**
+         * Whether a play happened in the top of the inning.
+         *
+         * @param atBatIndex The atBatIndex of the play
+         * @return true if the away team was batting
+         */
+        public boolean topInning(int atBatIndex) {
+            return (columns.flags[checkIndex(atBatIndex)] & TOP_INNING) != 0;
+        }
+
+        /**
+         * Gets the statcast data of a play's hit.
+         *
+         * @param atBatIndex The atBatIndex of the play
+         * @return the hit, or null if there's no statcast data for it
+         */
+        @Nullable
+        public GameSnapshot.Hit hit(int atBatIndex) {
+            Columns c = columns;
+            int i = checkIndex(atBatIndex);
+            if ((c.flags[i] & HAS_HIT) == 0) {
+                return null;
+            }
+
+            return new GameSnapshot.Hit(c.playId[i], c.launchSpeed[i], c.launchAngle[i], c.totalDistance[i]);
+        }
+
+        /**
+         * Every scoring play, in order.
+         *
+         * @return the scoring plays
+         */
+        public List<GameSnapshot.Play> scoringPlays() {
+            return matching(SCORING, SCORING, 0);
+        }
+
+        /**
+         * Every scoring play by one team, in order.
+         *
+         * @param away Whether to get the away team's scoring plays, otherwise the home team's
+         * @return the scoring plays
+         */
+        public List<GameSnapshot.Play> scoringPlays(boolean away) {
+            return matching(SCORING | TOP_INNING, SCORING | (away ? TOP_INNING : 0), 0);
+        }
+
+        /**
+         * Every play in a half-inning, in order.
+         *
+         * @param inning The inning
+         * @param topInning Whether to get the top of the inning, otherwise the bottom
+         * @return the plays
+         */
+        public List<GameSnapshot.Play> inning(int inning, boolean topInning) {
+            return matching(TOP_INNING, topInning ? TOP_INNING : 0, inning);
+        }
+
+        /**
+         * Every completed play, in order. Plays are built as they're read from the list.
+         *
+         * @return the plays
+         */
+        public List<GameSnapshot.Play> asList() {
+            return new AbstractList<>() {
+                @Override
+                public GameSnapshot.Play get(int index) {
+                    return play(index);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        /**
+         * Builds the plays whose flags match, only looking at the flag and inning columns for the rest.
+         *
+         * @param mask The flags to look at
+         * @param flags What they have to be
+         * @param inning The inning the plays have to be in, or 0 for any
+         * @return the matching plays
+         */
+        private List<GameSnapshot.Play> matching(int mask, int flags, int inning) {
+            Columns c = columns;
+            List<GameSnapshot.Play> plays = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if ((c.flags[i] & mask) == flags && (inning == 0 || c.inning[i] == inning)) {
+                    plays.add(play(i));
+                }
+            }
+
+            return plays;
+        }
+
+        private List<String> pitchingChanges(int atBatIndex) {
+            int start = columns.changeStart[atBatIndex];
+            int end = atBatIndex + 1 < size ? columns.changeStart[atBatIndex + 1] : changeCount;
+            if (start == end) {
+                return List.of();
+            }
+
+            String[] changed = new String[end - start];
+            for (int i = start; i < end; i++) {
+                changed[i - start] = strings[changes[i]];
+            }
+            return List.of(changed);
+        }
+
+        private int checkIndex(int atBatIndex) {
+            if (atBatIndex < 0 || atBatIndex >= size) {
+                throw new IndexOutOfBoundsException("No completed play with atBatIndex " + atBatIndex + ", there are " + size);
+            }
+            return atBatIndex;
+        }
+    }
+}
@@ -0,0 +1,901 @@
+package pw.chew.mlb.objects;
+
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONException;
+import pw.chew.mlb.util.JsonPullParser;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a {@link GameSnapshot} straight out of a live feed as it streams in.
+ * <br>
+ * Only the fields the snapshot needs are turned into values, everything else in the feed, like pitch data, game stats
+ * in the box score, and plays by inning, is skipped over without being built. Plays already in the game's {@link PlayStore}
+ * are skipped too, except the last one, which might have been corrected since. Changes are only made to the store once
+ * the whole feed was read. One reader reads one feed.
+ */
+class SnapshotReader {
+    private final String gamePk;
+    private final JsonPullParser json;
+    @Nullable
+    private final AdvisoryIndex seen;
+    private final PlayStore store;
+
+    // gameData
+    private boolean hasGameData = false;
+    private String abstractState = "";
+    private String detailedState = "";
+    private final TeamBuilder away = new TeamBuilder();
+    private final TeamBuilder home = new TeamBuilder();
+    private OffsetDateTime officialDate = null;
+    private int attendance = -1;
+    private GameSnapshot.Weather weather = null;
+
+    // liveData > linescore
+    private int inningNumber = 0;
+    private String inningOrdinal = "";
+    private String inningState = "";
+    private final List<GameSnapshot.InningLine> innings = new ArrayList<>();
+
+    // liveData > plays
+    private final List<GameSnapshot.Play> newPlays = new ArrayList<>();
+    private GameSnapshot.Play storedLast = null;
+    private final List<GameSnapshot.Advisory> advisories = new ArrayList<>();
+    private final List<Integer> scoringIndexes = new ArrayList<>();
+    private int outs = 0;
+    private GameSnapshot.Matchup matchup = null;
+
+    // liveData > decisions and boxscore
+    private final List<String[]> decisions = new ArrayList<>();
+    private final Map<Integer, String> pitchingNotes = new HashMap<>();
+    private final LineupBuilder awayLineup = new LineupBuilder();
+    private final LineupBuilder homeLineup = new LineupBuilder();
+
+    // metaData
+    private int advisedWait = 10;
+    private String timecode = null;
+
+    private SnapshotReader(String gamePk, JsonPullParser json, @Nullable AdvisoryIndex seen, @Nullable PlayStore store) {
+        this.gamePk = gamePk;
+        this.json = json;
+        this.seen = seen;
+        this.store = store == null ? new PlayStore() : store;
+    }
+
+    /**
+     * Reads a whole live feed.
+     *
+     * @param gamePk The gamePk of the game
+     * @param json The feed
+     * @param seen The advisories already seen, which aren't built again, or null to keep all of them
+     * @param store The plays already read, which aren't built again, or null to read every play
+     * @return the snapshot
+     * @throws JSONException if the feed is malformed or isn't a game feed
+     */
+    static GameSnapshot read(String gamePk, JsonPullParser json, @Nullable AdvisoryIndex seen, @Nullable PlayStore store) {
+        return new SnapshotReader(gamePk, json, seen, store).read();
+    }
+
+    private GameSnapshot read() {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "gameData" -> readGameData();
+                case "liveData" -> readLiveData();
+                case "metaData" -> readMetaData();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (!hasGameData || officialDate == null || away.id == 0 || home.id == 0) {
+            throw new JSONException("Feed has no gameData");
+        }
+
+        // Only now that the feed was read in full, so a feed that fails halfway doesn't leave plays behind
+        Set<Integer> scoring = new HashSet<>(scoringIndexes);
+        if (storedLast != null) {
+            store.replaceLast(storedLast, scoring.contains(storedLast.atBatIndex()));
+        }
+        for (GameSnapshot.Play play : newPlays) {
+            store.add(play, scoring.contains(play.atBatIndex()));
+        }
+
+        List<GameSnapshot.Decision> decisionList = new ArrayList<>();
+        for (String[] decision : decisions) {
+            String note = pitchingNotes.getOrDefault(Integer.parseInt(decision[1]), "");
+            decisionList.add(new GameSnapshot.Decision(decision[0], decision[2], note));
+        }
+
+        return new GameSnapshot(
+            gamePk,
+            new GameSnapshot.Status(abstractState, detailedState),
+            away.build(),
+            home.build(),
+            new GameSnapshot.Inning(inningNumber, inningOrdinal, inningState),
+            outs,
+            matchup,
+            store.view(),
+            List.copyOf(advisories),
+            List.copyOf(innings),
+            List.copyOf(decisionList),
+            awayLineup.build(),
+            homeLineup.build(),
+            officialDate,
+            attendance,
+            weather,
+            advisedWait,
+            timecode
+        );
+    }
+
+    /// gameData ///
+
+    private void readGameData() {
+        hasGameData = true;
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "status" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "abstractGameState" -> abstractState = json.nextString();
+                            case "detailedState" -> detailedState = json.nextString();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "teams" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "away" -> readTeam(away);
+                            case "home" -> readTeam(home);
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "datetime" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        if (json.nextName().equals("dateTime")) {
+                            officialDate = OffsetDateTime.parse(json.nextString(), DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+                        } else {
+                            json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "gameInfo" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        if (json.nextName().equals("attendance")) {
+                            attendance = json.nextInt();
+                        } else {
+                            json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "weather" -> readWeather();
+                case "probablePitchers" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "away" -> awayLineup.probablePitcher = readId();
+                            case "home" -> homeLineup.probablePitcher = readId();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private void readTeam(TeamBuilder team) {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id" -> team.id = json.nextInt();
+                case "name" -> team.name = json.nextString();
+                case "abbreviation" -> team.abbreviation = json.nextString();
+                case "clubName" -> team.clubName = json.nextString();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private void readWeather() {
+        String condition = null;
+        Integer temp = null;
+        String wind = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "condition" -> condition = json.nextString();
+                case "temp" -> temp = json.nextInt();
+                case "wind" -> wind = json.nextString();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (condition != null && temp != null && wind != null) {
+            weather = new GameSnapshot.Weather(condition, temp, wind);
+        }
+    }
+
+    /// liveData ///
+
+    private void readLiveData() {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "linescore" -> readLineScore();
+                case "plays" -> readPlays();
+                case "decisions" -> readDecisions();
+                case "boxscore" -> readBoxScore();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private void readLineScore() {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "currentInning" -> inningNumber = json.nextInt();
+                case "currentInningOrdinal" -> inningOrdinal = json.nextString();
+                case "inningState" -> inningState = json.nextString();
+                case "innings" -> {
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        readInning();
+                    }
+                    json.endArray();
+                }
+                case "teams" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "away" -> readTotals(away);
+                            case "home" -> readTotals(home);
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private void readInning() {
+        String awayRuns = "-";
+        String homeRuns = "-";
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "away" -> awayRuns = readRuns();
+                case "home" -> homeRuns = readRuns();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        innings.add(new GameSnapshot.InningLine(awayRuns, homeRuns));
+    }
+
+    private String readRuns() {
+        String runs = "-";
+
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("runs")) {
+                runs = json.nextString();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        return runs;
+    }
+
+    private void readTotals(TeamBuilder team) {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "runs" -> team.runs = json.nextInt();
+                case "hits" -> team.hits = json.nextInt();
+                case "errors" -> team.errors = json.nextInt();
+                case "leftOnBase" -> team.leftOnBase = json.nextInt();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private void readPlays() {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "allPlays" -> {
+                    // A play's position is its atBatIndex, so the ones already stored can be skipped unread
+                    // The last stored one is read again, as it's the one most likely to be corrected
+                    json.beginArray();
+                    for (int position = 0; json.hasNext(); position++) {
+                        if (position < store.size() - 1) {
+                            json.skipValue();
+                        } else {
+                            readPlay();
+                        }
+                    }
+                    json.endArray();
+                }
+                case "currentPlay" -> readCurrentPlay();
+                case "scoringPlays" -> {
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        scoringIndexes.add(json.nextInt());
+                    }
+                    json.endArray();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private void readPlay() {
+        PlayBuilder play = new PlayBuilder();
+        List<AdvisoryBuilder> playAdvisories = new ArrayList<>();
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "result" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "description" -> play.description = json.nextString();
+                            case "awayScore" -> play.awayScore = json.nextInt();
+                            case "homeScore" -> play.homeScore = json.nextInt();
+                            case "rbi" -> play.rbi = json.nextInt();
+                            case "eventType" -> play.eventType = json.nextString();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "about" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "atBatIndex" -> play.atBatIndex = json.nextInt();
+                            case "inning" -> play.inning = json.nextInt();
+                            case "isTopInning" -> play.topInning = json.nextBoolean();
+                            case "isComplete" -> play.complete = json.nextBoolean();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "count" -> play.outs = readOuts();
+                case "matchup" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "batter" -> play.batterId = readId();
+                            case "pitcher" -> play.pitcherId = readId();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "playEvents" -> {
+                    json.beginArray();
+                    for (int eventIndex = 0; json.hasNext(); eventIndex++) {
+                        readPlayEvent(play, eventIndex, playAdvisories);
+                    }
+                    json.endArray();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        // Plays are stored in order, a completed play after one that isn't is read again next time
+        if (play.complete && play.atBatIndex == store.size() - 1) {
+            storedLast = play.build();
+        } else if (play.complete && play.atBatIndex == store.size() + newPlays.size()) {
+            newPlays.add(play.build());
+        }
+        for (AdvisoryBuilder advisory : playAdvisories) {
+            if (seen == null || seen.isNew(play.atBatIndex, advisory.eventIndex)) {
+                advisories.add(advisory.build(play.atBatIndex));
+            }
+        }
+    }
+
+    private void readPlayEvent(PlayBuilder play, int eventIndex, List<AdvisoryBuilder> playAdvisories) {
+        AdvisoryBuilder event = new AdvisoryBuilder();
+        event.eventIndex = eventIndex;
+        boolean isPitch = false;
+        boolean inPlay = false;
+        String playId = null;
+        float[] hitData = null;
+        boolean hasHitData = false;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "isPitch" -> isPitch = json.nextBoolean();
+                case "playId" -> playId = json.nextString();
+                case "hitData" -> {
+                    hasHitData = true;
+                    hitData = readHitData();
+                }
+                case "details" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "isInPlay" -> inPlay = json.nextBoolean();
+                            case "event" -> event.event = json.nextString();
+                            case "eventType" -> event.eventType = json.nextString();
+                            case "description" -> event.description = json.nextString();
+                            case "isScoringPlay" -> event.scoringPlay = json.nextBoolean();
+                            case "awayScore" -> event.awayScore = json.nextInt();
+                            case "homeScore" -> event.homeScore = json.nextInt();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (inPlay) {
+            play.ballInPlay = true;
+        }
+
+        // Only the first hit counts, and only if statcast has all of it
+        if (hasHitData && !play.hitSeen) {
+            play.hitSeen = true;
+            if (hitData != null) {
+                play.hit = new GameSnapshot.Hit(playId, hitData[0], hitData[1], hitData[2]);
+            }
+        }
+
+        if ("pitching_substitution".equals(event.eventType) && event.description != null) {
+            play.pitchingChanges.add(event.description);
+        }
+
+        // Advisories are everything from "Mound Visits" to defense changes
+        if (!isPitch && event.event != null && event.eventType != null) {
+            playAdvisories.add(event);
+        }
+    }
+
+    /**
+     * Reads the launch speed, launch angle, and total distance of a hit.
+     *
+     * @return the three values, or null if any of them is missing
+     */
+    private float[] readHitData() {
+        float[] values = new float[3];
+        int found = 0;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "launchSpeed" -> {
+                    values[0] = (float) json.nextDouble();
+                    found |= 1;
+                }
+                case "launchAngle" -> {
+                    values[1] = (float) json.nextDouble();
+                    found |= 2;
+                }
+                case "totalDistance" -> {
+                    values[2] = (float) json.nextDouble();
+                    found |= 4;
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        return found == 7 ? values : null;
+    }
+
+    private int readOuts() {
+        int outs = 0;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("outs")) {
+                outs = json.nextInt();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        return outs;
+    }
+
+    private void readCurrentPlay() {
+        String[] names = new String[5];
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "count" -> outs = readOuts();
+                case "matchup" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "batter" -> names[0] = readFullName();
+                            case "pitcher" -> names[1] = readFullName();
+                            case "postOnFirst" -> names[2] = readFullName();
+                            case "postOnSecond" -> names[3] = readFullName();
+                            case "postOnThird" -> names[4] = readFullName();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (names[0] != null && names[1] != null) {
+            matchup = new GameSnapshot.Matchup(names[0], names[1], names[2], names[3], names[4]);
+        }
+    }
+
+    private int readId() {
+        if (json.skipNull()) {
+            return 0;
+        }
+
+        int id = 0;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("id")) {
+                id = json.nextInt();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        return id;
+    }
+
+    private String readFullName() {
+        return readField("fullName");
+    }
+
+    /**
+     * Reads a single string field out of an object, skipping the rest.
+     *
+     * @param field The field to read
+     * @return the value, or null if the object doesn't have it
+     */
+    private String readField(String field) {
+        if (json.skipNull()) {
+            return null;
+        }
+
+        String value = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals(field)) {
+                value = json.nextString();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        return value;
+    }
+
+    private void readDecisions() {
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            String id = null;
+            String name = null;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "id" -> id = json.nextString();
+                    case "fullName" -> name = json.nextString();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            if (id != null && name != null) {
+                // Capitalize the key
+                decisions.add(new String[]{key.substring(0, 1).toUpperCase() + key.substring(1), id, name});
+            }
+        }
+        json.endObject();
+    }
+
+    /**
+     * Reads the lineups, and the pitching notes of every player, since the decisions may come after the box score.
+     */
+    private void readBoxScore() {
+        json.beginObject();
+        while (json.hasNext()) {
+            if (!json.nextName().equals("teams")) {
+                json.skipValue();
+                continue;
+            }
+
+            json.beginObject();
+            while (json.hasNext()) {
+                LineupBuilder lineup = switch (json.nextName()) {
+                    case "away" -> awayLineup;
+                    case "home" -> homeLineup;
+                    default -> null;
+                };
+                if (lineup == null) {
+                    json.skipValue();
+                    continue;
+                }
+
+                json.beginObject();
+                while (json.hasNext()) {
+                    switch (json.nextName()) {
+                        case "players" -> readPlayers(lineup);
+                        case "battingOrder" -> {
+                            json.beginArray();
+                            while (json.hasNext()) {
+                                lineup.battingOrder.add(json.nextInt());
+                            }
+                            json.endArray();
+                        }
+                        default -> json.skipValue();
+                    }
+                }
+                json.endObject();
+            }
+            json.endObject();
+        }
+        json.endObject();
+    }
+
+    private void readPlayers(LineupBuilder lineup) {
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            if (!key.startsWith("ID")) {
+                json.skipValue();
+                continue;
+            }
+
+            PlayerBuilder player = new PlayerBuilder(Integer.parseInt(key.substring(2)));
+            readPlayer(player);
+            if (player.note != null) {
+                pitchingNotes.put(player.id, player.note);
+            }
+            lineup.players.put(player.id, player);
+        }
+        json.endObject();
+    }
+
+    private void readPlayer(PlayerBuilder player) {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "person" -> player.name = readFullName();
+                case "position" -> player.position = readField("abbreviation");
+                case "stats" -> player.note = readPitchingNote();
+                case "seasonStats" -> readSeasonStats(player);
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private String readPitchingNote() {
+        if (json.skipNull()) {
+            return null;
+        }
+
+        String note = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("pitching")) {
+                note = readField("note");
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        return note;
+    }
+
+    private void readSeasonStats(PlayerBuilder player) {
+        if (json.skipNull()) {
+            return;
+        }
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "pitching" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "era" -> player.era = json.nextString();
+                            case "wins" -> player.wins = json.nextInt();
+                            case "losses" -> player.losses = json.nextInt();
+                            case "strikeOuts" -> player.strikeouts = json.nextInt();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                case "batting" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "avg" -> player.avg = json.nextString();
+                            case "ops" -> player.ops = json.nextString();
+                            case "homeRuns" -> player.homers = json.nextInt();
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    /// metaData ///
+
+    private void readMetaData() {
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "wait" -> advisedWait = json.nextInt();
+                case "timeStamp" -> timecode = json.nextString();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private static class TeamBuilder {
+        private int id;
+        private String name = "";
+        private String abbreviation = "";
+        private String clubName = "";
+        private int runs;
+        private int hits;
+        private int errors;
+        private int leftOnBase;
+
+        private GameSnapshot.Team build() {
+            return new GameSnapshot.Team(id, name, abbreviation, clubName, runs, hits, errors, leftOnBase);
+        }
+    }
+
+    private static class LineupBuilder {
+        private final List<Integer> battingOrder = new ArrayList<>();
+        private final Map<Integer, PlayerBuilder> players = new HashMap<>();
+        private int probablePitcher;
+
+        /**
+         * Only builds the players in the lineup, the rest of the roster was only read for their notes.
+         */
+        private GameSnapshot.Lineup build() {
+            List<GameSnapshot.Player> order = new ArrayList<>();
+            for (int id : battingOrder) {
+                PlayerBuilder player = players.get(id);
+                if (player != null) {
+                    order.add(player.build());
+                }
+            }
+
+            PlayerBuilder pitcher = players.get(probablePitcher);
+            if (order.isEmpty() && pitcher == null) {
+                return GameSnapshot.Lineup.EMPTY;
+            }
+            return new GameSnapshot.Lineup(List.copyOf(order), pitcher == null ? null : pitcher.build());
+        }
+    }
+
+    private static class PlayerBuilder {
+        private final int id;
+        private String name = "";
+        private String position = "";
+        private String note;
+        private String era = "-.--";
+        private int wins;
+        private int losses;
+        private int strikeouts;
+        private String avg = ".---";
+        private String ops = ".---";
+        private int homers;
+
+        private PlayerBuilder(int id) {
+            this.id = id;
+        }
+
+        private GameSnapshot.Player build() {
+            return new GameSnapshot.Player(id, name == null ? "" : name, position == null ? "" : position, era, wins, losses, strikeouts, avg, ops, homers);
+        }
+    }
+
+    private static class PlayBuilder {
+        private int atBatIndex = -1;
+        private int inning;
+        private boolean topInning;
+        private boolean complete;
+        private String description = "";
+        private String eventType;
+        private int awayScore;
+        private int homeScore;
+        private int rbi;
+        private int outs;
+        private int batterId;
+        private int pitcherId;
+        private boolean ballInPlay;
+        private boolean hitSeen;
+        private GameSnapshot.Hit hit;
+        private final List<String> pitchingChanges = new ArrayList<>();
+
+        private GameSnapshot.Play build() {
+            return new GameSnapshot.Play(atBatIndex, inning, topInning, description, eventType, awayScore, homeScore, rbi,
+                outs, batterId, pitcherId, ballInPlay, hit, List.copyOf(pitchingChanges));
+        }
+    }
+
+    private static class AdvisoryBuilder {
+        private int eventIndex;
+        private String event;
+        private String eventType;
+        private String description;
+        private boolean scoringPlay;
+        private int awayScore;
+        private int homeScore;
+
+        private GameSnapshot.Advisory build(int atBatIndex) {
+            return new GameSnapshot.Advisory(atBatIndex, eventIndex, event, description == null ? "" : description, scoringPlay, awayScore, homeScore);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package pw.chew.mlb.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A processing stage with its own worker threads, fed through bounded queues.
+ * <br>
+ * Items are spread over lanes by key, and every lane is handled by a single thread, so items with the same key are
+ * always handled in the order they were submitted. When a lane's queue is full, submitting waits a little for room and
+ * then gives up, which slows down whoever is producing instead of piling up work forever, without ever leaving them
+ * stuck behind a slow lane.
+ *
+ * @param <T> The type of item handled by this stage
+ */
+public class BoundedStage<T> {
+    private static final Logger logger = LoggerFactory.getLogger(BoundedStage.class);
+
+    private final String name;
+    private final Consumer<T> handler;
+    private final List<BlockingQueue<Queued<T>>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final StageMetrics handleMetrics;
+    private final StageMetrics waitMetrics;
+    private final StageMetrics blockedMetrics;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a stage and starts its workers.
+     *
+     * @param name The name of the stage, used for its threads and metrics
+     * @param laneCount How many lanes, and so worker threads, to use
+     * @param capacity How many items each lane can hold before submitting has to wait
+     * @param handler Handles a single item
+     */
+    public BoundedStage(String name, int laneCount, int capacity, Consumer<T> handler) {
+        this.name = name;
+        this.handler = handler;
+        this.handleMetrics = new StageMetrics(name);
+        this.waitMetrics = new StageMetrics(name + " queue wait");
+        this.blockedMetrics = new StageMetrics(name + " backpressure");
+
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<Queued<T>> lane = new ArrayBlockingQueue<>(capacity);
+            lanes.add(lane);
+
+            Thread worker = new Thread(() -> work(lane), name + "-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Submits an item, waiting up to the timeout for room if its lane is full.
+     *
+     * @param key Items with the same key are handled in order, e.g. the gamePk
+     * @param item The item to handle
+     * @param timeout How long to wait for room at most
+     * @return false if the stage is shut down, the lane stayed full, or the wait was interrupted, so the item wasn't queued
+     */
+    public boolean submit(String key, T item, Duration timeout) {
+        if (!running) {
+            return false;
+        }
+
+        BlockingQueue<Queued<T>> lane = lanes.get(Math.floorMod(key.hashCode(), lanes.size()));
+        Queued<T> queued = new Queued<>(item, System.nanoTime());
+        if (lane.offer(queued)) {
+            return true;
+        }
+
+        long blockedSince = System.nanoTime();
+        try {
+            return lane.offer(queued, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for room in {}", name);
+            return false;
+        } finally {
+            blockedMetrics.record(blockedSince);
+        }
+    }
+
+    /**
+     * How many items are waiting across all lanes.
+     *
+     * @return the queue depth
+     */
+    public int depth() {
+        int depth = 0;
+        for (BlockingQueue<Queued<T>> lane : lanes) {
+            depth += lane.size();
+        }
+
+        return depth;
+    }
+
+    /**
+     * How long handling an item takes.
+     *
+     * @return the handling metrics
+     */
+    public StageMetrics metrics() {
+        return handleMetrics;
+    }
+
+    /**
+     * How long items wait in the queue before they're handled.
+     *
+     * @return the queue wait metrics
+     */
+    public StageMetrics waitMetrics() {
+        return waitMetrics;
+    }
+
+    /**
+     * How long submitting had to wait for room in a full lane.
+     *
+     * @return the backpressure metrics
+     */
+    public StageMetrics blockedMetrics() {
+        return blockedMetrics;
+    }
+
+    /**
+     * Stops accepting items and waits up to the timeout for the queued ones to be handled.
+     *
+     * @param timeout How long to wait for the queues to drain
+     */
+    public void shutdown(Duration timeout) {
+        running = false;
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (depth() > 0) {
+            logger.warn("{} did not drain within {}, dropping {} items", name, timeout, depth());
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    private void work(BlockingQueue<Queued<T>> lane) {
+        while (true) {
+            Queued<T> queued;
+            try {
+                queued = lane.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (queued == null) {
+                // Only stop once everything that was queued is handled
+                if (!running) return;
+                continue;
+            }
+
+            waitMetrics.record(queued.queuedAt());
+            long start = System.nanoTime();
+            try {
+                handler.accept(queued.item());
+            } catch (Exception e) {
+                logger.error("{} failed to handle an item", name, e);
+            }
+            handleMetrics.record(start);
+        }
+    }
+
+    private record Queued<T>(T item, long queuedAt) {
+    }
+}
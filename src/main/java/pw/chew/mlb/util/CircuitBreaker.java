@@ -0,0 +1,154 @@
+package pw.chew.mlb.util;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Stops requests to a host that keeps failing, instead of every caller retrying on its own.
+ * <br>
+ * After enough failures in a row the circuit opens and every request is refused. Once the open period is over, a
+ * single request is let through as a probe. If it succeeds, the circuit closes again. If it fails, the circuit stays
+ * open for twice as long, up to a maximum.
+ */
+public class CircuitBreaker {
+    /**
+     * How long a probe may take before another one is let through, in case the first never reported back.
+     */
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(45);
+
+    private final int threshold;
+    private final Duration minOpen;
+    private final Duration maxOpen;
+    private final Consumer<State> listener;
+
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private Duration openFor;
+    private long openUntil = 0;
+    private long probeStarted = 0;
+
+    /**
+     * Creates a new, closed circuit breaker.
+     *
+     * @param threshold How many failures in a row open the circuit
+     * @param minOpen How long the circuit stays open at first
+     * @param maxOpen How long the circuit stays open at most
+     * @param listener Called with the new state whenever the state changes, outside any lock
+     */
+    public CircuitBreaker(int threshold, Duration minOpen, Duration maxOpen, Consumer<State> listener) {
+        this.threshold = threshold;
+        this.minOpen = minOpen;
+        this.maxOpen = maxOpen;
+        this.openFor = minOpen;
+        this.listener = listener;
+    }
+
+    /**
+     * Checks whether a request may be made. While open, this lets through one probe once the open period is over.
+     *
+     * @return true if the request may be made
+     */
+    public boolean tryAcquire() {
+        State changed;
+        synchronized (this) {
+            long now = System.nanoTime();
+            switch (state) {
+                case CLOSED -> {
+                    return true;
+                }
+                case HALF_OPEN -> {
+                    if (now - probeStarted < PROBE_TIMEOUT.toNanos()) {
+                        return false;
+                    }
+                    probeStarted = now;
+                    return true;
+                }
+                default -> {
+                    if (now - openUntil < 0) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    probeStarted = now;
+                    changed = state;
+                }
+            }
+        }
+
+        listener.accept(changed);
+        return true;
+    }
+
+    /**
+     * Records a successful request, closing the circuit if it was open.
+     */
+    public void recordSuccess() {
+        synchronized (this) {
+            failures = 0;
+            openFor = minOpen;
+            if (state == State.CLOSED) {
+                return;
+            }
+            state = State.CLOSED;
+        }
+
+        listener.accept(State.CLOSED);
+    }
+
+    /**
+     * Records a failed request, opening the circuit if there were too many in a row, or if the probe failed.
+     */
+    public void recordFailure() {
+        synchronized (this) {
+            failures++;
+            if (state == State.HALF_OPEN) {
+                openFor = openFor.multipliedBy(2);
+                if (openFor.compareTo(maxOpen) > 0) {
+                    openFor = maxOpen;
+                }
+            } else if (state == State.OPEN || failures < threshold) {
+                return;
+            }
+
+            state = State.OPEN;
+            openUntil = System.nanoTime() + openFor.toNanos();
+        }
+
+        listener.accept(State.OPEN);
+    }
+
+    /**
+     * The current state of the circuit.
+     *
+     * @return the state
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Whether requests are currently going through normally.
+     *
+     * @return true if the circuit is closed
+     */
+    public boolean isClosed() {
+        return state() == State.CLOSED;
+    }
+
+    /**
+     * The states a circuit can be in.
+     */
+    public enum State {
+        /**
+         * Everything is fine, requests go through.
+         */
+        CLOSED,
+        /**
+         * The host is failing, requests are refused.
+         */
+        OPEN,
+        /**
+         * A single probe request is checking whether the host is back.
+         */
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,194 @@
+package pw.chew.mlb.util;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What each part of the bot reads from a game's live feed, so the feed can be requested with only those fields.
+ * <br>
+ * MLB's "fields" parameter keeps every key whose name is listed, at any depth, so a projection boils down to the
+ * names along its paths, and merging projections is just a union of names. Every request for a game's live feed uses
+ * {@link #ALL}, so there's only one field list per game. The poller's response is read into a
+ * {@link pw.chew.mlb.objects.GameSnapshot} with everything every consumer needs, and anything looking at a polled
+ * game reads it from {@link pw.chew.mlb.objects.LiveGameRegistry} instead of requesting the feed again.
+ */
+public enum FeedProjection {
+    /**
+     * The plays, for posting them as they happen.
+     */
+    PLAYS(
+        "liveData.plays.allPlays.result.description",
+        "liveData.plays.allPlays.result.awayScore",
+        "liveData.plays.allPlays.result.homeScore",
+        "liveData.plays.allPlays.result.rbi",
+        "liveData.plays.allPlays.result.eventType",
+        "liveData.plays.allPlays.matchup.batter.id",
+        "liveData.plays.allPlays.matchup.pitcher.id",
+        "liveData.plays.allPlays.about.atBatIndex",
+        "liveData.plays.allPlays.about.inning",
+        "liveData.plays.allPlays.about.isTopInning",
+        "liveData.plays.allPlays.about.isComplete",
+        "liveData.plays.allPlays.count.outs",
+        "liveData.plays.allPlays.playEvents.isPitch",
+        "liveData.plays.allPlays.playEvents.playId",
+        "liveData.plays.allPlays.playEvents.details.isInPlay",
+        "liveData.plays.allPlays.playEvents.details.event",
+        "liveData.plays.allPlays.playEvents.details.eventType",
+        "liveData.plays.allPlays.playEvents.details.description",
+        "liveData.plays.allPlays.playEvents.details.isScoringPlay",
+        "liveData.plays.allPlays.playEvents.details.awayScore",
+        "liveData.plays.allPlays.playEvents.details.homeScore",
+        "liveData.plays.allPlays.playEvents.hitData.launchSpeed",
+        "liveData.plays.allPlays.playEvents.hitData.launchAngle",
+        "liveData.plays.allPlays.playEvents.hitData.totalDistance",
+        "liveData.plays.currentPlay.count.outs",
+        "liveData.plays.scoringPlays",
+        "metaData.wait",
+        "metaData.timeStamp"
+    ),
+    /**
+     * The score, teams, and where the game is at, e.g. for /score.
+     */
+    SCORE(
+        "gameData.status.abstractGameState",
+        "gameData.status.detailedState",
+        "gameData.teams.away.id",
+        "gameData.teams.away.name",
+        "gameData.teams.away.clubName",
+        "gameData.teams.away.abbreviation",
+        "gameData.teams.home.id",
+        "gameData.teams.home.name",
+        "gameData.teams.home.clubName",
+        "gameData.teams.home.abbreviation",
+        "gameData.datetime.dateTime",
+        "liveData.linescore.currentInning",
+        "liveData.linescore.currentInningOrdinal",
+        "liveData.linescore.inningState",
+        "liveData.linescore.teams.away.runs",
+        "liveData.linescore.teams.away.hits",
+        "liveData.linescore.teams.away.errors",
+        "liveData.linescore.teams.away.leftOnBase",
+        "liveData.linescore.teams.home.runs",
+        "liveData.linescore.teams.home.hits",
+        "liveData.linescore.teams.home.errors",
+        "liveData.linescore.teams.home.leftOnBase",
+        "liveData.plays.currentPlay.count.outs",
+        "liveData.plays.currentPlay.matchup.batter.fullName",
+        "liveData.plays.currentPlay.matchup.pitcher.fullName",
+        "liveData.plays.currentPlay.matchup.postOnFirst.fullName",
+        "liveData.plays.currentPlay.matchup.postOnSecond.fullName",
+        "liveData.plays.currentPlay.matchup.postOnThird.fullName"
+    ),
+    /**
+     * The details around the game, e.g. for /gameinfo and the end of game summary.
+     */
+    GAME_INFO(
+        "gameData.gameInfo.attendance",
+        "gameData.weather.condition",
+        "gameData.weather.temp",
+        "gameData.weather.wind",
+        "liveData.linescore.innings.num",
+        "liveData.linescore.innings.away.runs",
+        "liveData.linescore.innings.home.runs"
+    ),
+    /**
+     * The winning, losing, and saving pitchers, with their notes.
+     */
+    DECISIONS(
+        "liveData.decisions.winner.id",
+        "liveData.decisions.winner.fullName",
+        "liveData.decisions.loser.id",
+        "liveData.decisions.loser.fullName",
+        "liveData.decisions.save.id",
+        "liveData.decisions.save.fullName",
+        "liveData.boxscore.teams.away.players.stats.pitching.note",
+        "liveData.boxscore.teams.home.players.stats.pitching.note"
+    ),
+    /**
+     * The batting orders and probable pitchers, for the lineup buttons.
+     */
+    LINEUP(
+        "liveData.boxscore.teams.away.battingOrder",
+        "liveData.boxscore.teams.home.battingOrder",
+        "liveData.boxscore.teams.away.players.person.id",
+        "liveData.boxscore.teams.away.players.person.fullName",
+        "liveData.boxscore.teams.away.players.position.abbreviation",
+        "liveData.boxscore.teams.away.players.seasonStats.pitching.era",
+        "liveData.boxscore.teams.away.players.seasonStats.pitching.wins",
+        "liveData.boxscore.teams.away.players.seasonStats.pitching.losses",
+        "liveData.boxscore.teams.away.players.seasonStats.pitching.strikeOuts",
+        "liveData.boxscore.teams.away.players.seasonStats.batting.avg",
+        "liveData.boxscore.teams.away.players.seasonStats.batting.ops",
+        "liveData.boxscore.teams.away.players.seasonStats.batting.homeRuns",
+        "liveData.boxscore.teams.home.players.person.id",
+        "liveData.boxscore.teams.home.players.person.fullName",
+        "liveData.boxscore.teams.home.players.position.abbreviation",
+        "liveData.boxscore.teams.home.players.seasonStats.pitching.era",
+        "liveData.boxscore.teams.home.players.seasonStats.pitching.wins",
+        "liveData.boxscore.teams.home.players.seasonStats.pitching.losses",
+        "liveData.boxscore.teams.home.players.seasonStats.pitching.strikeOuts",
+        "liveData.boxscore.teams.home.players.seasonStats.batting.avg",
+        "liveData.boxscore.teams.home.players.seasonStats.batting.ops",
+        "liveData.boxscore.teams.home.players.seasonStats.batting.homeRuns",
+        "gameData.probablePitchers.away.id",
+        "gameData.probablePitchers.home.id"
+    );
+
+    /**
+     * Everything anything reads, merged from every projection above. The poller asks for this, and so does everything
+     * looking at a game the poller doesn't follow.
+     */
+    public static final Set<FeedProjection> ALL = Collections.unmodifiableSet(EnumSet.allOf(FeedProjection.class));
+
+    private static final Map<Set<FeedProjection>, String> fields = new ConcurrentHashMap<>();
+
+    private final List<String> paths;
+
+    FeedProjection(String... paths) {
+        this.paths = List.of(paths);
+    }
+
+    /**
+     * The paths this projection reads, e.g. "gameData.status.detailedState".
+     *
+     * @return the paths
+     */
+    public List<String> paths() {
+        return paths;
+    }
+
+    /**
+     * Gets the URL of a game's live feed, with only the fields the given projections need.
+     *
+     * @param gamePk The gamePk of the game
+     * @param projections The projections to cover
+     * @return The URL
+     */
+    public static String liveFeedUrl(String gamePk, Set<FeedProjection> projections) {
+        return "https://statsapi.mlb.com/api/v1.1/game/%s/feed/live?language=en&fields=%s".formatted(gamePk, fields(projections));
+    }
+
+    /**
+     * Merges projections into the value of the "fields" parameter. The names are sorted, so the same projections
+     * always give the same URL, and share the cache.
+     *
+     * @param projections The projections to cover
+     * @return the fields, comma separated
+     */
+    public static String fields(Set<FeedProjection> projections) {
+        return fields.computeIfAbsent(Set.copyOf(projections), set -> {
+            Set<String> names = new TreeSet<>();
+            for (FeedProjection projection : set) {
+                for (String path : projection.paths) {
+                    Collections.addAll(names, path.split("\\."));
+                }
+            }
+            return String.join(",", names);
+        });
+    }
+}
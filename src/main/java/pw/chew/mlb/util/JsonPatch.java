@@ -0,0 +1,341 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies <a href="https://www.rfc-editor.org/rfc/rfc6902">JSON Patch</a> operations to org.json documents.
+ * <br>
+ * The original document is never modified. Only the objects and arrays along each patched path are copied, everything
+ * else is shared with the original, so older documents stay valid and patching costs about as much as the patch.
+ */
+public class JsonPatch {
+    // Prevent instantiation
+    private JsonPatch() {
+    }
+
+    /**
+     * Applies a list of operations to a document.
+     *
+     * @param document The document to patch, this is left untouched
+     * @param operations The operations, e.g. {@code [{"op": "replace", "path": "/a/b", "value": 1}]}
+     * @return The patched document
+     * @throws PatchException If an operation can't be applied, e.g. its path doesn't exist
+     */
+    public static JSONObject apply(JSONObject document, JSONArray operations) {
+        Patcher patcher = new Patcher(document);
+        for (int i = 0; i < operations.length(); i++) {
+            JSONObject operation = operations.optJSONObject(i);
+            if (operation == null) {
+                throw new PatchException("Operation " + i + " is not an object");
+            }
+
+            patcher.apply(operation);
+        }
+
+        if (!(patcher.root instanceof JSONObject result)) {
+            throw new PatchException("Patched document is no longer an object");
+        }
+
+        return result;
+    }
+
+    /**
+     * Thrown when a patch doesn't fit the document it's applied to.
+     */
+    public static class PatchException extends RuntimeException {
+        public PatchException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Holds the document while a list of operations is applied to it.
+     */
+    private static final class Patcher {
+        private Object root;
+        /**
+         * Containers copied during this patch. These are ours, so later operations can change them in place.
+         */
+        private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Patcher(JSONObject document) {
+            this.root = document;
+        }
+
+        void apply(JSONObject operation) {
+            String op = operation.optString("op");
+            String path = operation.optString("path", null);
+            if (path == null) {
+                throw new PatchException("Operation " + op + " has no path");
+            }
+
+            switch (op) {
+                case "add" -> add(path, value(operation));
+                case "remove" -> remove(path);
+                case "replace" -> replace(path, value(operation));
+                case "move" -> {
+                    String from = operation.getString("from");
+                    Object value = get(from);
+                    remove(from);
+                    add(path, value);
+                }
+                case "copy" -> add(path, detach(get(operation.getString("from"))));
+                case "test" -> {
+                    if (!same(get(path), value(operation))) {
+                        throw new PatchException("Test failed at " + path);
+                    }
+                }
+                default -> throw new PatchException("Unknown operation: " + op);
+            }
+        }
+
+        private Object value(JSONObject operation) {
+            if (!operation.has("value")) {
+                throw new PatchException("Operation " + operation.optString("op") + " has no value");
+            }
+
+            return operation.get("value");
+        }
+
+        private void add(String path, Object value) {
+            String[] tokens = tokens(path);
+            if (tokens.length == 0) {
+                root = value;
+                return;
+            }
+
+            Object parent = parentOf(tokens);
+            String last = tokens[tokens.length - 1];
+            if (parent instanceof JSONObject object) {
+                object.put(last, value);
+            } else {
+                JSONArray array = (JSONArray) parent;
+                if (last.equals("-")) {
+                    array.put(value);
+                    return;
+                }
+
+                int index = index(last, array.length() + 1);
+                // Grow by one, then shift everything after the index over
+                array.put(value);
+                for (int i = array.length() - 1; i > index; i--) {
+                    array.put(i, array.opt(i - 1));
+                }
+                array.put(index, value);
+            }
+        }
+
+        private void remove(String path) {
+            String[] tokens = tokens(path);
+            if (tokens.length == 0) {
+                throw new PatchException("Cannot remove the whole document");
+            }
+
+            Object parent = parentOf(tokens);
+            String last = tokens[tokens.length - 1];
+            if (parent instanceof JSONObject object) {
+                if (!object.has(last)) {
+                    throw new PatchException("Nothing to remove at " + path);
+                }
+                object.remove(last);
+            } else {
+                JSONArray array = (JSONArray) parent;
+                array.remove(index(last, array.length()));
+            }
+        }
+
+        private void replace(String path, Object value) {
+            String[] tokens = tokens(path);
+            if (tokens.length == 0) {
+                root = value;
+                return;
+            }
+
+            Object parent = parentOf(tokens);
+            String last = tokens[tokens.length - 1];
+            if (parent instanceof JSONObject object) {
+                if (!object.has(last)) {
+                    throw new PatchException("Nothing to replace at " + path);
+                }
+                object.put(last, value);
+            } else {
+                JSONArray array = (JSONArray) parent;
+                array.put(index(last, array.length()), value);
+            }
+        }
+
+        private Object get(String path) {
+            Object node = root;
+            for (String token : tokens(path)) {
+                node = child(node, token);
+            }
+
+            return node;
+        }
+
+        /**
+         * Walks to the container holding the path's last token, copying every container on the way we don't own yet.
+         *
+         * @param tokens The path tokens, at least one
+         * @return The container, which is safe to change
+         */
+        private Object parentOf(String[] tokens) {
+            root = own(root);
+            Object node = root;
+            for (int i = 0; i < tokens.length - 1; i++) {
+                Object child = child(node, tokens[i]);
+                Object ownedChild = own(child);
+                if (ownedChild != child) {
+                    setChild(node, tokens[i], ownedChild);
+                }
+                node = ownedChild;
+            }
+
+            return node;
+        }
+
+        private Object own(Object node) {
+            if (owned.contains(node)) {
+                return node;
+            }
+
+            Object copy;
+            if (node instanceof JSONObject object) {
+                JSONObject objectCopy = new JSONObject();
+                for (String key : object.keySet()) {
+                    objectCopy.put(key, object.opt(key));
+                }
+                copy = objectCopy;
+            } else if (node instanceof JSONArray array) {
+                JSONArray arrayCopy = new JSONArray();
+                for (int i = 0; i < array.length(); i++) {
+                    arrayCopy.put(array.opt(i));
+                }
+                copy = arrayCopy;
+            } else {
+                throw new PatchException("Cannot patch inside a " + (node == null ? "null" : node.getClass().getSimpleName()));
+            }
+
+            owned.add(copy);
+            return copy;
+        }
+
+        /**
+         * Copies the containers in a value that this patch owns, so the value can be put somewhere else without later
+         * operations on one location showing up in the other.
+         * <br>
+         * Containers we don't own are shared as they are, since changing them goes through {@link #own(Object)} anyway.
+         * Anything below one of those isn't ours either, as we only ever own containers along a path from the root.
+         *
+         * @param node The value to copy
+         * @return the value, with none of our containers in it
+         */
+        private Object detach(Object node) {
+            if (!owned.contains(node)) {
+                return node;
+            }
+
+            if (node instanceof JSONObject object) {
+                JSONObject copy = new JSONObject();
+                for (String key : object.keySet()) {
+                    copy.put(key, detach(object.opt(key)));
+                }
+                return copy;
+            }
+
+            JSONArray array = (JSONArray) node;
+            JSONArray copy = new JSONArray();
+            for (int i = 0; i < array.length(); i++) {
+                copy.put(detach(array.opt(i)));
+            }
+            return copy;
+        }
+
+        private Object child(Object node, String token) {
+            if (node instanceof JSONObject object) {
+                if (!object.has(token)) {
+                    throw new PatchException("No such key: " + token);
+                }
+                return object.get(token);
+            } else if (node instanceof JSONArray array) {
+                return array.get(index(token, array.length()));
+            }
+
+            throw new PatchException("Cannot look up " + token + " inside a value");
+        }
+
+        private void setChild(Object node, String token, Object value) {
+            if (node instanceof JSONObject object) {
+                object.put(token, value);
+            } else {
+                JSONArray array = (JSONArray) node;
+                array.put(index(token, array.length()), value);
+            }
+        }
+
+        /**
+         * Parses an array index token.
+         *
+         * @param token The token
+         * @param bound The exclusive upper bound
+         * @return the index
+         */
+        private int index(String token, int bound) {
+            int index;
+            try {
+                index = Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                throw new PatchException("Invalid array index: " + token);
+            }
+
+            if (index < 0 || index >= bound) {
+                throw new PatchException("Array index out of bounds: " + token);
+            }
+
+            return index;
+        }
+
+        /**
+         * Splits a JSON pointer into its unescaped tokens. The empty pointer points to the whole document.
+         *
+         * @param path The pointer, e.g. "/liveData/plays/allPlays/0"
+         * @return the tokens
+         */
+        private static String[] tokens(String path) {
+            if (path.isEmpty()) {
+                return new String[0];
+            }
+            if (!path.startsWith("/")) {
+                throw new PatchException("Invalid path: " + path);
+            }
+
+            String[] tokens = path.substring(1).split("/", -1);
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
+            }
+
+            return tokens;
+        }
+
+        private static boolean same(Object a, Object b) {
+            if (a instanceof JSONObject object) {
+                return object.similar(b);
+            }
+            if (a instanceof JSONArray array) {
+                return array.similar(b);
+            }
+            if (a instanceof Number && b instanceof Number) {
+                return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString())) == 0;
+            }
+
+            return Objects.equals(a, b);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A minimal streaming JSON reader. Instead of building a tree of the whole document like {@link org.json.JSONObject},
+ * it hands out one token at a time, so only the values that are asked for are ever turned into objects.
+ * <br>
+ * Values nobody asked for are {@link #skipValue() skipped} by scanning over their characters, which allocates
+ * nothing no matter how big they are.
+ */
+public class JsonPullParser {
+    /**
+     * The kinds of tokens in a JSON document.
+     */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    // What the parser expects next, per nesting level
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos = 0;
+    private int limit = 0;
+    /**
+     * How many characters were consumed before the start of the buffer, for error messages.
+     */
+    private long offset = 0;
+
+    private int[] stack = new int[32];
+    private int depth = 1;
+    private Token peeked = null;
+    private final StringBuilder scratch = new StringBuilder();
+
+    /**
+     * Creates a parser reading from a stream of characters.
+     *
+     * @param in The characters to read
+     */
+    public JsonPullParser(Reader in) {
+        this.in = in;
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Creates a parser reading a string.
+     *
+     * @param json The JSON to read
+     */
+    public JsonPullParser(String json) {
+        this(new StringReader(json));
+    }
+
+    /**
+     * Looks at the next token without consuming it.
+     *
+     * @return the next token
+     */
+    public Token peek() {
+        if (peeked != null) {
+            return peeked;
+        }
+
+        int top = stack[depth - 1];
+        switch (top) {
+            case EMPTY_ARRAY, NONEMPTY_ARRAY -> {
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                int c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c == -1) {
+                    throw syntaxError("Unterminated array");
+                }
+                if (top == NONEMPTY_ARRAY) {
+                    if (c != ',') throw syntaxError("Expected ',' or ']'");
+                } else {
+                    pos--;
+                }
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                stack[depth - 1] = DANGLING_NAME;
+                int c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (top == NONEMPTY_OBJECT) {
+                    if (c != ',') throw syntaxError("Expected ',' or '}'");
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') throw syntaxError("Expected a name");
+                return peeked = Token.NAME;
+            }
+            case DANGLING_NAME -> {
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') throw syntaxError("Expected ':'");
+            }
+            case EMPTY_DOCUMENT -> stack[depth - 1] = NONEMPTY_DOCUMENT;
+            case NONEMPTY_DOCUMENT -> {
+                if (nextNonWhitespace() != -1) throw syntaxError("Expected the end of the document");
+                return peeked = Token.END_DOCUMENT;
+            }
+        }
+
+        int c = nextNonWhitespace();
+        return peeked = switch (c) {
+            case '{' -> Token.BEGIN_OBJECT;
+            case '[' -> Token.BEGIN_ARRAY;
+            case '"' -> Token.STRING;
+            case 't', 'f' -> {
+                pos--;
+                yield Token.BOOLEAN;
+            }
+            case 'n' -> {
+                pos--;
+                yield Token.NULL;
+            }
+            case -1 -> throw syntaxError("Unexpected end of document");
+            default -> {
+                pos--;
+                yield Token.NUMBER;
+            }
+        };
+    }
+
+    /**
+     * Whether the current object or array has more elements.
+     *
+     * @return true if there's another name or value
+     */
+    public boolean hasNext() {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Consumes the start of an object.
+     */
+    public void beginObject() {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Consumes the end of an object.
+     */
+    public void endObject() {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    /**
+     * Consumes the start of an array.
+     */
+    public void beginArray() {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Consumes the end of an array.
+     */
+    public void endArray() {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * Consumes the name of the next property in an object.
+     *
+     * @return the name
+     */
+    public String nextName() {
+        expect(Token.NAME);
+        return readString();
+    }
+
+    /**
+     * Consumes a string. Numbers are returned as they're written.
+     *
+     * @return the string
+     */
+    public String nextString() {
+        Token token = peek();
+        peeked = null;
+        return switch (token) {
+            case STRING -> readString();
+            case NUMBER -> readLiteral().toString();
+            default -> throw syntaxError("Expected a string but was " + token);
+        };
+    }
+
+    /**
+     * Consumes a number, or a string containing one, as an int. Decimals are cut off.
+     *
+     * @return the number
+     */
+    public int nextInt() {
+        CharSequence number = nextNumber();
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                return (int) Double.parseDouble(number.toString());
+            }
+        }
+
+        try {
+            return Integer.parseInt(number, 0, number.length(), 10);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected an int but was " + number);
+        }
+    }
+
+    /**
+     * Consumes a number, or a string containing one, as a double.
+     *
+     * @return the number
+     */
+    public double nextDouble() {
+        CharSequence number = nextNumber();
+        try {
+            return Double.parseDouble(number.toString());
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number but was " + number);
+        }
+    }
+
+    /**
+     * Consumes a boolean.
+     *
+     * @return the boolean
+     */
+    public boolean nextBoolean() {
+        expect(Token.BOOLEAN);
+        CharSequence literal = readLiteral();
+        if (contentEquals(literal, "true")) return true;
+        if (contentEquals(literal, "false")) return false;
+        throw syntaxError("Expected a boolean but was " + literal);
+    }
+
+    /**
+     * Consumes a null.
+     */
+    public void nextNull() {
+        expect(Token.NULL);
+        CharSequence literal = readLiteral();
+        if (!contentEquals(literal, "null")) throw syntaxError("Expected null but was " + literal);
+    }
+
+    /**
+     * Skips the next value, including everything inside it if it's an object or array, without building anything.
+     */
+    public void skipValue() {
+        Token token = peek();
+        peeked = null;
+        switch (token) {
+            case BEGIN_OBJECT, BEGIN_ARRAY -> skipNested();
+            case STRING -> skipString();
+            case NUMBER, BOOLEAN, NULL -> skipLiteral();
+            case NAME -> {
+                // Skip the name and its value
+                skipString();
+                skipValue();
+            }
+            default -> throw syntaxError("Expected a value but was " + token);
+        }
+    }
+
+    /**
+     * Skips the next value if it's null.
+     *
+     * @return true if a null was skipped
+     */
+    public boolean skipNull() {
+        if (peek() != Token.NULL) {
+            return false;
+        }
+
+        nextNull();
+        return true;
+    }
+
+    private void expect(Token token) {
+        Token actual = peek();
+        if (actual != token) {
+            throw syntaxError("Expected " + token + " but was " + actual);
+        }
+        peeked = null;
+    }
+
+    private void push(int state) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = state;
+    }
+
+    private CharSequence nextNumber() {
+        Token token = peek();
+        peeked = null;
+        return switch (token) {
+            case NUMBER -> readLiteral();
+            case STRING -> {
+                scratch.setLength(0);
+                scratch.append(readString());
+                yield scratch;
+            }
+            default -> throw syntaxError("Expected a number but was " + token);
+        };
+    }
+
+    /**
+     * Reads a string, after its opening quote.
+     */
+    private String readString() {
+        // Fast path: no escapes and the whole string is in the buffer
+        for (int i = pos; i < limit; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                String value = new String(buffer, pos, i - pos);
+                pos = i + 1;
+                return value;
+            }
+            if (c == '\\') {
+                break;
+            }
+        }
+
+        scratch.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1) throw syntaxError("Unterminated string");
+            if (c == '"') return scratch.toString();
+            if (c == '\\') {
+                scratch.append(readEscape());
+            } else {
+                scratch.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() {
+        int c = read();
+        return switch (c) {
+            case 'n' -> '\n';
+            case 't' -> '\t';
+            case 'r' -> '\r';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit == -1) throw syntaxError("Invalid unicode escape");
+                    value = (value << 4) | digit;
+                }
+                yield (char) value;
+            }
+            case '"', '\\', '/' -> (char) c;
+            default -> throw syntaxError("Invalid escape");
+        };
+    }
+
+    /**
+     * Reads a number or literal into the scratch buffer.
+     */
+    private CharSequence readLiteral() {
+        scratch.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) break;
+            char c = buffer[pos];
+            if (isDelimiter(c)) break;
+            scratch.append(c);
+            pos++;
+        }
+
+        if (scratch.isEmpty()) throw syntaxError("Expected a value");
+        return scratch;
+    }
+
+    private void skipLiteral() {
+        while (pos < limit || fill()) {
+            if (isDelimiter(buffer[pos])) return;
+            pos++;
+        }
+    }
+
+    private void skipString() {
+        while (true) {
+            int c = read();
+            if (c == -1) throw syntaxError("Unterminated string");
+            if (c == '"') return;
+            if (c == '\\') read();
+        }
+    }
+
+    /**
+     * Skips an object or array, after its opening bracket.
+     */
+    private void skipNested() {
+        int nesting = 1;
+        while (nesting > 0) {
+            int c = read();
+            switch (c) {
+                case -1 -> throw syntaxError("Unterminated object or array");
+                case '{', '[' -> nesting++;
+                case '}', ']' -> nesting--;
+                case '"' -> skipString();
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static boolean isDelimiter(char c) {
+        return switch (c) {
+            case ',', '}', ']', ':', ' ', '\t', '\n', '\r' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean contentEquals(CharSequence a, String b) {
+        return b.contentEquals(a);
+    }
+
+    private int nextNonWhitespace() {
+        while (true) {
+            int c = read();
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return c;
+            }
+        }
+    }
+
+    private int read() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() {
+        offset += pos;
+        pos = 0;
+        try {
+            limit = in.read(buffer, 0, buffer.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at character " + (offset + pos));
+    }
+}
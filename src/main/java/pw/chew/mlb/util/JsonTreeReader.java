@@ -0,0 +1,229 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Hands out the tokens of a document that was already built, like a {@link JsonPullParser} reading it would.
+ * <br>
+ * This lets anything reading a {@link JsonPullParser} read a document held in memory, e.g. a patched live feed,
+ * without writing it out to a String and parsing that again. Values are handed out as they are in the tree, nothing is
+ * copied.
+ */
+public class JsonTreeReader extends JsonPullParser {
+    private final Object root;
+    private boolean rootRead = false;
+    private final Deque<Container> open = new ArrayDeque<>();
+
+    /**
+     * Creates a reader walking a document.
+     *
+     * @param document The document to walk
+     */
+    public JsonTreeReader(JSONObject document) {
+        super(Reader.nullReader());
+        this.root = document;
+    }
+
+    @Override
+    public Token peek() {
+        Container container = open.peek();
+        if (container == null) {
+            return rootRead ? Token.END_DOCUMENT : tokenOf(root);
+        }
+
+        if (container.object != null) {
+            if (container.name != null) {
+                return tokenOf(container.object.opt(container.name));
+            }
+            return container.names.hasNext() ? Token.NAME : Token.END_OBJECT;
+        }
+
+        return container.index < container.array.length() ? tokenOf(container.array.opt(container.index)) : Token.END_ARRAY;
+    }
+
+    @Override
+    public void beginObject() {
+        expect(Token.BEGIN_OBJECT);
+        open.push(new Container((JSONObject) nextValue()));
+    }
+
+    @Override
+    public void endObject() {
+        expect(Token.END_OBJECT);
+        open.pop();
+    }
+
+    @Override
+    public void beginArray() {
+        expect(Token.BEGIN_ARRAY);
+        open.push(new Container((JSONArray) nextValue()));
+    }
+
+    @Override
+    public void endArray() {
+        expect(Token.END_ARRAY);
+        open.pop();
+    }
+
+    @Override
+    public String nextName() {
+        expect(Token.NAME);
+        Container container = open.element();
+        container.name = container.names.next();
+        return container.name;
+    }
+
+    @Override
+    public String nextString() {
+        Token token = peek();
+        return switch (token) {
+            case STRING -> (String) nextValue();
+            case NUMBER -> nextValue().toString();
+            default -> throw new JSONException("Expected a string but was " + token);
+        };
+    }
+
+    @Override
+    public int nextInt() {
+        Token token = peek();
+        return switch (token) {
+            case NUMBER -> ((Number) nextValue()).intValue();
+            case STRING -> {
+                String number = (String) nextValue();
+                try {
+                    yield number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1
+                        ? Integer.parseInt(number)
+                        : (int) Double.parseDouble(number);
+                } catch (NumberFormatException e) {
+                    throw new JSONException("Expected an int but was " + number);
+                }
+            }
+            default -> throw new JSONException("Expected a number but was " + token);
+        };
+    }
+
+    @Override
+    public double nextDouble() {
+        Token token = peek();
+        return switch (token) {
+            case NUMBER -> ((Number) nextValue()).doubleValue();
+            case STRING -> {
+                String number = (String) nextValue();
+                try {
+                    yield Double.parseDouble(number);
+                } catch (NumberFormatException e) {
+                    throw new JSONException("Expected a number but was " + number);
+                }
+            }
+            default -> throw new JSONException("Expected a number but was " + token);
+        };
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        expect(Token.BOOLEAN);
+        return (Boolean) nextValue();
+    }
+
+    @Override
+    public void nextNull() {
+        expect(Token.NULL);
+        nextValue();
+    }
+
+    @Override
+    public void skipValue() {
+        Token token = peek();
+        switch (token) {
+            case NAME -> {
+                nextName();
+                nextValue();
+            }
+            case END_OBJECT, END_ARRAY, END_DOCUMENT -> throw new JSONException("Expected a value but was " + token);
+            // Nothing has to be scanned over, the whole value is passed over at once
+            default -> nextValue();
+        }
+    }
+
+    @Override
+    public boolean skipNull() {
+        if (peek() != Token.NULL) {
+            return false;
+        }
+
+        nextValue();
+        return true;
+    }
+
+    private void expect(Token token) {
+        Token actual = peek();
+        if (actual != token) {
+            throw new JSONException("Expected " + token + " but was " + actual);
+        }
+    }
+
+    /**
+     * Consumes the next value, the caller has to have peeked it.
+     *
+     * @return the value
+     */
+    private Object nextValue() {
+        Container container = open.peek();
+        if (container == null) {
+            rootRead = true;
+            return root;
+        }
+
+        if (container.object != null) {
+            Object value = container.object.opt(container.name);
+            container.name = null;
+            return value;
+        }
+
+        return container.array.opt(container.index++);
+    }
+
+    private static Token tokenOf(Object value) {
+        if (value instanceof JSONObject) return Token.BEGIN_OBJECT;
+        if (value instanceof JSONArray) return Token.BEGIN_ARRAY;
+        if (value instanceof String) return Token.STRING;
+        if (value instanceof Number) return Token.NUMBER;
+        if (value instanceof Boolean) return Token.BOOLEAN;
+        if (value == null || JSONObject.NULL.equals(value)) return Token.NULL;
+
+        throw new JSONException("Unexpected " + value.getClass().getSimpleName() + " in document");
+    }
+
+    /**
+     * An object or array being walked.
+     */
+    private static final class Container {
+        private final JSONObject object;
+        private final Iterator<String> names;
+        /**
+         * The name whose value is next, if it was read.
+         */
+        private String name;
+        private final JSONArray array;
+        private int index = 0;
+
+        Container(JSONObject object) {
+            this.object = object;
+            this.names = object.keySet().iterator();
+            this.array = null;
+        }
+
+        Container(JSONArray array) {
+            this.object = null;
+            this.names = null;
+            this.array = array;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import pw.chew.chewbotcca.util.RestClient;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,50 +49,6 @@ public class MLBAPIUtil {
         return teams;
     }
 
-    public static Map<String, List<Player>> getLineup(String gamePk, String homeAway) {
-        JSONObject data = RestClient.get("https://statsapi.mlb.com/api/v1.1/game/%s/feed/live?language=en&fields=liveData,boxscore,teams,away,home,players,id,fullName,jerseyNumber,position,name,abbreviation,seasonStats,pitching,era,wins,losses,strikeOuts,batting,avg,ops,homeRuns,gameData,probablePitchers,away,home,id"
-            .formatted(gamePk)).asJSONObject();
-        JSONObject boxScore = data.getJSONObject("liveData")
-            .getJSONObject("boxscore")
-            .getJSONObject("teams");
-
-        Map<String, List<Player>> response = new HashMap<>();
-
-        Map<Integer, Player> players = new HashMap<>();
-        for (String team :new String[]{"home", "away"}) {
-            JSONObject teamPlayers = boxScore.getJSONObject(team).getJSONObject("players");
-            for (String item : teamPlayers.keySet()) {
-                Player player = new Player(teamPlayers.getJSONObject(item));
-                players.put(player.id(), player);
-            }
-        }
-
-        // get the batting order
-        JSONArray lineup = boxScore.getJSONObject(homeAway).getJSONArray("battingOrder");
-        List<Player> lineupPlayers = new ArrayList<>();
-        for (Object item : lineup) {
-            // json array of int player ID
-            int playerId = (int) item;
-            Player player = players.get(playerId);
-            lineupPlayers.add(player);
-        }
-
-        response.put("Batting Order", lineupPlayers);
-
-        // add pitcher to end
-        JSONObject probablePitchers = data.getJSONObject("gameData").getJSONObject("probablePitchers");
-        if (probablePitchers.has(homeAway)) {
-            int probablePitcher = probablePitchers.getJSONObject(homeAway).getInt("id");
-            Player pitcher = players.get(probablePitcher);
-            response.put("Probable Pitcher", Collections.singletonList(pitcher));
-        } else {
-            // empty list
-            response.put("Probable Pitcher", Collections.emptyList());
-        }
-
-        return response;
-    }
-
     /**
      * Gets the current MLB standings.
      *
@@ -174,74 +129,6 @@ public class MLBAPIUtil {
         }
     }
 
-    public record Player(JSONObject raw) {
-        public int id() {
-            return raw.getJSONObject("person").getInt("id");
-        }
-
-        public String name() {
-            return raw.getJSONObject("person").getString("fullName");
-        }
-
-        public String number() {
-            return raw.getString("jerseyNumber");
-        }
-
-        public Position position() {
-            return new Position(raw.getJSONObject("position"));
-        }
-
-        public boolean isPitcher() {
-            return position().abbreviation().equals("P");
-        }
-
-        public String era() {
-            return raw.getJSONObject("seasonStats").getJSONObject("pitching").getString("era");
-        }
-
-        public int wins() {
-            return raw.getJSONObject("seasonStats").getJSONObject("pitching").getInt("wins");
-        }
-
-        public int losses() {
-            return raw.getJSONObject("seasonStats").getJSONObject("pitching").getInt("losses");
-        }
-
-        public int strikeouts() {
-            return raw.getJSONObject("seasonStats").getJSONObject("pitching").getInt("strikeOuts");
-        }
-
-        public String avg() {
-            return raw.getJSONObject("seasonStats").getJSONObject("batting").getString("avg");
-        }
-
-        public String ops() {
-            return raw.getJSONObject("seasonStats").getJSONObject("batting").getString("ops");
-        }
-
-        public int homers() {
-            return raw.getJSONObject("seasonStats").getJSONObject("batting").getInt("homeRuns");
-        }
-
-        public String friendlyString() {
-            if (isPitcher()) {
-                return "%s (%s - %s | %s ERA | %s K)".formatted(name(), wins(), losses(), era(), strikeouts());
-            } else {
-                return "%s (%s) - %s AVG, %s OPS, %s HR".formatted(name(), position().abbreviation(), avg(), ops(), homers());
-            }
-        }
-    }
-
-    public record Position(JSONObject raw) {
-        public String name() {
-            return raw.getString("name");
-        }
-
-        public String abbreviation() {
-            return raw.getString("abbreviation");
-        }
-    }
-
     public record Standing(JSONObject raw) {
         public String teamName() {
             // team > name
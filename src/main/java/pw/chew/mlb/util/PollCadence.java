@@ -0,0 +1,95 @@
+package pw.chew.mlb.util;
+
+import pw.chew.mlb.objects.GameSnapshot;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Decides how long to wait before polling a game again, based on what the game is currently doing.
+ * <br>
+ * Live at-bats are polled quickly, while games that are waiting for first pitch or sitting in a delay back off to
+ * minutes. Outside of live at-bats, the wait MLB advises in the feed's metadata is used as a minimum.
+ */
+public class PollCadence {
+    /**
+     * While an at-bat is in progress.
+     */
+    public static final Duration LIVE = Duration.ofSeconds(5);
+    /**
+     * Anything we don't have a better answer for, this was the old fixed interval.
+     */
+    public static final Duration DEFAULT = Duration.ofSeconds(10);
+    /**
+     * Middle or end of an inning, e.g. a commercial break.
+     */
+    public static final Duration INNING_BREAK = Duration.ofSeconds(20);
+    /**
+     * Teams are warming up, first pitch is only minutes away.
+     */
+    public static final Duration WARMUP = Duration.ofSeconds(30);
+    /**
+     * The game is scheduled to start within the next half hour, or is in a delay.
+     */
+    public static final Duration WAITING = Duration.ofMinutes(1);
+    /**
+     * The game is scheduled to start more than half an hour from now.
+     */
+    public static final Duration FAR_AWAY = Duration.ofMinutes(5);
+
+    // Prevent instantiation
+    private PollCadence() {
+    }
+
+    /**
+     * Gets how long to wait before polling the given game again.
+     *
+     * @param state The most recent state of the game
+     * @return how long to wait
+     */
+    public static Duration next(GameSnapshot state) {
+        Duration phase = phaseInterval(state);
+
+        // We want live at-bats to be snappy, no matter what the feed says
+        if (phase.equals(LIVE)) {
+            return LIVE;
+        }
+
+        Duration advised = Duration.ofSeconds(state.advisedWait());
+        Duration interval = advised.compareTo(phase) > 0 ? advised : phase;
+
+        return interval.compareTo(FAR_AWAY) > 0 ? FAR_AWAY : interval;
+    }
+
+    /**
+     * Gets the interval for the phase the game is in, ignoring the feed's advice.
+     *
+     * @param state The most recent state of the game
+     * @return the interval for the game's phase
+     */
+    public static Duration phaseInterval(GameSnapshot state) {
+        GameSnapshot.Status status = state.status();
+        if (status.isDelayed()) {
+            return WAITING;
+        }
+
+        if (status.isWarmup()) {
+            return WARMUP;
+        }
+
+        if (status.isScheduled()) {
+            boolean soon = OffsetDateTime.now().isAfter(state.officialDate().minusMinutes(30));
+            return soon ? WAITING : FAR_AWAY;
+        }
+
+        if (!status.isLive()) {
+            return DEFAULT;
+        }
+
+        if (state.inning().isBreak()) {
+            return INNING_BREAK;
+        }
+
+        return LIVE;
+    }
+}
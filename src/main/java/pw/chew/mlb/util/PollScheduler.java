@@ -0,0 +1,327 @@
+package pw.chew.mlb.util;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs recurring poll tasks on a small shared pool instead of one thread per task.
+ * <br>
+ * Every task is scheduled again only once its previous run has finished, so a task never runs on two threads at
+ * once and can pick a different interval on every run. Cancelling a task never interrupts it, it just won't run again.
+ * <br>
+ * Tasks are spread out so they don't all hit the same second: the first interval a task asks for is shortened to a
+ * fixed phase offset within that interval based on its key, and every interval after that is stretched or shrunk by a
+ * little random jitter.
+ */
+public class PollScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(PollScheduler.class);
+    /**
+     * How long to wait before running a task again if it threw an exception.
+     */
+    private static final Duration ERROR_DELAY = Duration.ofSeconds(10);
+    /**
+     * How much every interval may randomly differ, as a fraction of the interval.
+     */
+    private static final double JITTER = 0.1;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, PollHandle> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param name The name prefix for the pool's threads
+     * @param threads The amount of threads in the pool
+     */
+    public PollScheduler(String name, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Schedules a task under the given key. Nothing happens if a task with this key is already scheduled.
+     *
+     * @param key The key of the task, e.g. the gamePk
+     * @param task The task to run
+     * @param initialDelay How long to wait before the first run
+     * @return true if the task was scheduled, false if the key was already taken
+     */
+    public boolean schedule(String key, PollTask task, Duration initialDelay) {
+        PollHandle handle = new PollHandle(key, task);
+        if (tasks.putIfAbsent(key, handle) != null) {
+            return false;
+        }
+
+        handle.scheduleNext(initialDelay);
+        return true;
+    }
+
+    /**
+     * Cancels the task with the given key. A run that is already in progress will finish, but won't be scheduled again.
+     *
+     * @param key The key of the task
+     * @return true if a task was cancelled, false if there was no such task
+     */
+    public boolean cancel(String key) {
+        PollHandle handle = tasks.remove(key);
+        if (handle == null) {
+            return false;
+        }
+
+        handle.cancel();
+        return true;
+    }
+
+    /**
+     * Runs the task with the given key as soon as possible instead of waiting for its next run.
+     * If the task is running right now, it runs again right after.
+     *
+     * @param key The key of the task
+     */
+    public void wake(String key) {
+        PollHandle handle = tasks.get(key);
+        if (handle != null) {
+            handle.wake();
+        }
+    }
+
+    /**
+     * Whether a task is scheduled under the given key.
+     *
+     * @param key The key of the task
+     * @return true if the task is scheduled
+     */
+    public boolean isScheduled(String key) {
+        return tasks.containsKey(key);
+    }
+
+    /**
+     * The keys of every scheduled task.
+     *
+     * @return an unmodifiable view of the scheduled keys
+     */
+    public Set<String> keys() {
+        return Set.copyOf(tasks.keySet());
+    }
+
+    /**
+     * The amount of scheduled tasks.
+     *
+     * @return the amount of scheduled tasks
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Whether there are no tasks scheduled.
+     *
+     * @return true if there are no tasks
+     */
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    /**
+     * The amount of threads currently in the pool. This stays flat regardless of how many tasks are scheduled.
+     *
+     * @return the amount of pool threads
+     */
+    public int threadCount() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * The amount of runs waiting in the pool, for tests. Every task has exactly one, unless it's running right now.
+     *
+     * @return the amount of pending runs
+     */
+    int pendingRuns() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Cancels every task and stops the pool, waiting up to the timeout for running polls to finish.
+     *
+     * @param timeout How long to wait for running polls
+     */
+    public void shutdown(Duration timeout) {
+        for (PollHandle handle : tasks.values()) {
+            handle.cancel();
+        }
+        tasks.clear();
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Poll tasks did not finish within {}, stopping them", timeout);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the fixed phase a key's task runs at within its interval. The same key always gets the same offset, so a task
+     * that is restarted keeps its place, while different keys spread evenly over the whole interval.
+     *
+     * @param key The key of the task
+     * @param interval The interval the task asked for
+     * @return the offset, at least zero and less than the interval
+     */
+    static Duration phaseOffset(String key, Duration interval) {
+        long millis = interval.toMillis();
+        if (millis <= 0) {
+            return Duration.ZERO;
+        }
+
+        // Mix the hash so similar keys, like consecutive gamePks, don't end up next to each other
+        long hash = key.hashCode() * 0x9E3779B97F4A7C15L;
+        return Duration.ofMillis(Math.floorMod(hash >>> 16, millis));
+    }
+
+    /**
+     * Randomly stretches or shrinks an interval by up to {@link #JITTER}.
+     *
+     * @param interval The interval the task asked for
+     * @return the jittered interval
+     */
+    static Duration jitter(Duration interval) {
+        long millis = interval.toMillis();
+        long spread = (long) (millis * JITTER);
+        if (spread <= 0) {
+            return interval;
+        }
+
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(-spread, spread + 1));
+    }
+
+    /**
+     * A task that is polled repeatedly.
+     */
+    @FunctionalInterface
+    public interface PollTask {
+        /**
+         * Runs a single poll.
+         *
+         * @return How long to wait until the next poll, or null to stop polling
+         */
+        @Nullable
+        Duration poll();
+    }
+
+    /**
+     * Keeps track of a single task's pending run.
+     * <br>
+     * Every scheduled run gets the next generation number, and a run only goes ahead if it's still the latest one.
+     * A run that was already handed to a thread can't be stopped by cancelling its future, so this is what keeps it
+     * from running next to the one that replaced it.
+     */
+    private final class PollHandle {
+        private final String key;
+        private final PollTask task;
+        private volatile boolean cancelled = false;
+        private ScheduledFuture<?> future;
+        private long generation = 0;
+        private boolean running = false;
+        private boolean wakeRequested = false;
+        private boolean phased = false;
+
+        PollHandle(String key, PollTask task) {
+            this.key = key;
+            this.task = task;
+        }
+
+        private void run(long scheduled) {
+            synchronized (this) {
+                if (cancelled || running || scheduled != generation) return;
+                running = true;
+            }
+
+            Duration next;
+            try {
+                next = task.poll();
+            } catch (Exception e) {
+                logger.error("Poll task {} failed, retrying in {}", key, ERROR_DELAY, e);
+                next = ERROR_DELAY;
+            }
+
+            synchronized (this) {
+                running = false;
+
+                if (next == null) {
+                    cancelled = true;
+                    tasks.remove(key, this);
+                    return;
+                }
+
+                if (wakeRequested) {
+                    wakeRequested = false;
+                    next = Duration.ZERO;
+                } else if (!phased) {
+                    // Only now the task's interval is known, so this is where it moves to its own phase within it
+                    next = phaseOffset(key, next);
+                } else {
+                    next = jitter(next);
+                }
+                phased = true;
+
+                scheduleNext(next);
+            }
+        }
+
+        synchronized void wake() {
+            if (cancelled) return;
+
+            if (running) {
+                wakeRequested = true;
+                return;
+            }
+
+            // The pending run might already be on a thread, where cancelling can't stop it. It's a generation behind
+            // after this though, so it returns right away.
+            if (future != null) {
+                future.cancel(false);
+            }
+            scheduleNext(Duration.ZERO);
+        }
+
+        synchronized void scheduleNext(Duration delay) {
+            if (cancelled) return;
+
+            long scheduled = ++generation;
+            try {
+                future = executor.schedule(() -> run(scheduled), delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // The pool is shutting down
+                cancelled = true;
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package pw.chew.mlb.util;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Counts events per second over a sliding window, e.g. outgoing requests, to show how evenly they are spread.
+ */
+public class RateWindow {
+    private final int size;
+    private final long[] seconds;
+    private final int[] counts;
+
+    /**
+     * Creates a new window.
+     *
+     * @param size How many seconds to keep
+     */
+    public RateWindow(int size) {
+        this.size = size;
+        // One extra slot for the second that is still in progress
+        this.seconds = new long[size + 1];
+        this.counts = new int[size + 1];
+    }
+
+    /**
+     * Records a single event happening now.
+     */
+    public synchronized void record() {
+        long now = Instant.now().getEpochSecond();
+        int slot = (int) (now % seconds.length);
+        if (seconds[slot] != now) {
+            seconds[slot] = now;
+            counts[slot] = 0;
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Gets the counts of the last completed seconds, oldest first. The second in progress is left out.
+     *
+     * @return the count for every second in the window
+     */
+    public synchronized int[] counts() {
+        long now = Instant.now().getEpochSecond();
+        int[] result = new int[size];
+        for (int i = 1; i <= size; i++) {
+            long second = now - i;
+            int slot = (int) (second % seconds.length);
+            result[size - i] = seconds[slot] == second ? counts[slot] : 0;
+        }
+
+        return result;
+    }
+
+    /**
+     * Summarizes the distribution of the last completed seconds.
+     *
+     * @return the summary
+     */
+    public Summary summary() {
+        int[] sorted = counts();
+        Arrays.sort(sorted);
+
+        double total = 0;
+        for (int count : sorted) {
+            total += count;
+        }
+
+        return new Summary(
+            sorted.length,
+            total / sorted.length,
+            sorted[sorted.length / 2],
+            sorted[(int) Math.ceil(sorted.length * 0.95) - 1],
+            sorted[sorted.length - 1]
+        );
+    }
+
+    /**
+     * The distribution of events per second over a window.
+     *
+     * @param seconds The amount of seconds in the window
+     * @param average The average per second
+     * @param median The median per second
+     * @param p95 The 95th percentile per second
+     * @param max The busiest second
+     */
+    public record Summary(int seconds, double average, int median, int p95, int max) {
+        @Override
+        public String toString() {
+            return "avg %.1f/s, median %s, p95 %s, max %s (last %ss)".formatted(average, median, p95, max, seconds);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package pw.chew.mlb.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how long a single processing stage takes.
+ */
+public class StageMetrics {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Creates new, empty metrics.
+     *
+     * @param name The name of the stage, e.g. "Fetch"
+     */
+    public StageMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a run of this stage that started at the given time and just finished.
+     *
+     * @param startNanos When the run started, from {@link System#nanoTime()}
+     */
+    public void record(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        count.increment();
+        totalNanos.add(elapsed);
+        maxNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * The name of the stage.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * How many runs were recorded.
+     *
+     * @return the amount of runs
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * The average time a run took.
+     *
+     * @return the average in milliseconds, or 0 if nothing was recorded
+     */
+    public double averageMillis() {
+        long runs = count.sum();
+        return runs == 0 ? 0 : totalNanos.sum() / (double) runs / 1_000_000;
+    }
+
+    /**
+     * The longest time a run took.
+     *
+     * @return the maximum in milliseconds
+     */
+    public double maxMillis() {
+        return maxNanos.get() / 1_000_000D;
+    }
+
+    @Override
+    public String toString() {
+        return "%s: %s runs, avg %.1fms, max %.1fms".formatted(name, count(), averageMillis(), maxMillis());
+    }
+}
@@ -0,0 +1,113 @@
+package pw.chew.mlb.util;
+
+import java.time.Duration;
+
+/**
+ * A token bucket, refilled at a steady rate up to a maximum burst.
+ * <br>
+ * Callers can ask to leave some tokens in the bucket, so lower priority work can't drain the tokens that are kept
+ * for higher priority work.
+ */
+public class TokenBucket {
+    private final double perSecond;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a new, full bucket.
+     *
+     * @param perSecond How many tokens are added every second
+     * @param capacity How many tokens the bucket can hold, i.e. the largest burst
+     */
+    public TokenBucket(double perSecond, int capacity) {
+        if (perSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and a capacity of at least 1");
+        }
+
+        this.perSecond = perSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes a token if one is available without going below the amount to keep.
+     *
+     * @param keep How many tokens must be left in the bucket afterwards
+     * @return true if a token was taken
+     */
+    public synchronized boolean tryAcquire(double keep) {
+        refill();
+        if (tokens - 1 < keep) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Waits for a token to become available without going below the amount to keep.
+     *
+     * @param keep How many tokens must be left in the bucket afterwards
+     * @param maxWait How long to wait at most
+     * @return true if a token was taken, false if the wait ran out
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean acquire(double keep, Duration maxWait) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            long sleepNanos;
+            synchronized (this) {
+                if (tryAcquire(keep)) {
+                    return true;
+                }
+
+                sleepNanos = (long) ((keep + 1 - tokens) / perSecond * 1_000_000_000L);
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+
+            // Sleep in small steps, other callers may take the token we're waiting for
+            Thread.sleep(Math.max(1, Math.min(Math.min(sleepNanos, remaining), 50_000_000L) / 1_000_000L));
+        }
+    }
+
+    /**
+     * The amount of tokens currently in the bucket.
+     *
+     * @return the available tokens
+     */
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    /**
+     * How many tokens the bucket can hold.
+     *
+     * @return the capacity
+     */
+    public double capacity() {
+        return capacity;
+    }
+
+    /**
+     * How many tokens are added every second.
+     *
+     * @return the refill rate
+     */
+    public double perSecond() {
+        return perSecond;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) / 1_000_000_000D * perSecond);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,109 @@
+package pw.chew.chewbotcca.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs requests against a local stub that holds every response until it's released, so requests can be lined up
+ * behind one that's still on its way.
+ */
+class RestClientTest {
+    private static HttpServer server;
+    private static ExecutorService handlers;
+    private static String baseUrl;
+    private static final AtomicInteger received = new AtomicInteger();
+    private static volatile CountDownLatch release = new CountDownLatch(0);
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        handlers = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/held", RestClientTest::handle);
+        server.setExecutor(handlers);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        release.countDown();
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void liveRequestsNeverJoinALowerLane() throws Exception {
+        String url = baseUrl + "/held?test=live";
+        release = new CountDownLatch(1);
+        received.set(0);
+
+        CompletableFuture<RestClient.Response> background = CompletableFuture.supplyAsync(() -> RestClient.get(RestClient.Priority.BACKGROUND, url));
+        awaitReceived(1);
+        CompletableFuture<RestClient.Response> live = CompletableFuture.supplyAsync(() -> RestClient.getFresh(url));
+
+        // The live request goes out on its own instead of waiting on the background one
+        awaitReceived(2);
+        release.countDown();
+        assertTrue(live.get(5, TimeUnit.SECONDS).success());
+        assertTrue(background.get(5, TimeUnit.SECONDS).success());
+        assertEquals(2, received.get());
+    }
+
+    @Test
+    void lowerLanesJoinALiveRequest() throws Exception {
+        String url = baseUrl + "/held?test=background";
+        release = new CountDownLatch(1);
+        received.set(0);
+
+        CompletableFuture<RestClient.Response> live = CompletableFuture.supplyAsync(() -> RestClient.getFresh(url));
+        awaitReceived(1);
+        CompletableFuture<RestClient.Response> background = CompletableFuture.supplyAsync(() -> RestClient.get(RestClient.Priority.BACKGROUND, url));
+
+        Thread.sleep(200);
+        assertEquals(1, received.get());
+        release.countDown();
+        assertEquals("held", live.get(5, TimeUnit.SECONDS).asString());
+        assertEquals("held", background.get(5, TimeUnit.SECONDS).asString());
+        assertEquals(1, received.get());
+    }
+
+    private static void awaitReceived(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, received.get());
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        received.incrementAndGet();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        byte[] body = "held".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
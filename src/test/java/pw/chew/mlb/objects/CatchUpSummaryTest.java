@@ -0,0 +1,69 @@
+package pw.chew.mlb.objects;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatchUpSummaryTest {
+    @Test
+    void keepsEveryMessageWithinDiscordsLimit() throws IOException {
+        GameSnapshot state = fixture();
+        // A long outage in a slugfest: every play scores, and every description is long
+        List<GameSnapshot.Play> plays = new ArrayList<>();
+        for (int i = 1; i <= 120; i++) {
+            int inning = 1 + i / 14;
+            plays.add(new GameSnapshot.Play(i, inning, i % 14 < 7, "Batter %s homers (%s) on a fly ball to right center field, %s".formatted(i, i, "x".repeat(60)),
+                "home_run", i, i / 2, 1, i % 3, 0, 0, true, null, List.of("Pitching Change: Reliever %s replaces Starter %s.".formatted(i, i))));
+        }
+        CatchUpSummary summary = new CatchUpSummary(state, new FeedCursor(0, "", 0, "Top", 0, 0, 0), null, plays);
+
+        List<MessageEmbed> embeds = summary.embeds();
+        assertTrue(embeds.size() > 1, "Only " + embeds.size() + " embed");
+
+        List<List<MessageEmbed>> messages = summary.messages();
+        assertTrue(messages.size() > 1, "Only " + messages.size() + " message");
+        List<MessageEmbed> sent = new ArrayList<>();
+        for (List<MessageEmbed> message : messages) {
+            int length = message.stream().mapToInt(MessageEmbed::getLength).sum();
+            assertTrue(length <= MessageEmbed.EMBED_MAX_LENGTH_BOT, "Message of " + length + " characters");
+            assertTrue(message.size() <= 10, "Message of " + message.size() + " embeds");
+            sent.addAll(message);
+        }
+
+        // Nothing is lost or reordered, and only the first embed has the title
+        assertEquals(embeds.size(), sent.size());
+        for (int i = 0; i < sent.size(); i++) {
+            assertEquals(embeds.get(i).getDescription(), sent.get(i).getDescription());
+        }
+        assertEquals("Catching Up", sent.get(0).getTitle());
+        assertTrue(sent.get(0).getDescription().startsWith("We missed 120 plays."));
+    }
+
+    @Test
+    void sendsAShortSummaryAsOneMessage() throws IOException {
+        GameSnapshot state = fixture();
+        CatchUpSummary summary = CatchUpSummary.between(state, new FeedCursor(60, "", 0, "Top", 2, 1, 0));
+
+        assertEquals(13, summary.plays().size());
+        List<List<MessageEmbed>> messages = summary.messages();
+        assertEquals(1, messages.size());
+        assertEquals(1, messages.get(0).size());
+    }
+
+    private static GameSnapshot fixture() throws IOException {
+        try (InputStream in = CatchUpSummaryTest.class.getResourceAsStream("/feeds/live-late-inning.json")) {
+            assertNotNull(in);
+            return GameSnapshot.read("775296", new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+}
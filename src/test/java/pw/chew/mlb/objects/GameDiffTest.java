@@ -0,0 +1,151 @@
+package pw.chew.mlb.objects;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import pw.chew.mlb.util.JsonPatch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Diffs the late-inning feed, and the recorded patches on top of it, against cursors posted at different points of
+ * the game.
+ */
+class GameDiffTest {
+    private static final String GAME_PK = "775296";
+
+    @Test
+    void findsNothingNewAfterAPitch() throws IOException {
+        GameSnapshot before = fixture();
+        GameSnapshot after = patched("late-inning-pitch.json");
+
+        assertEquals(List.of(), GameDiff.between(before.status(), posted(before), after, List.of()));
+    }
+
+    @Test
+    void findsANewPlay() throws IOException {
+        GameSnapshot snapshot = fixture();
+        GameSnapshot.Play previous = snapshot.play(73);
+        assertNotNull(previous);
+        FeedCursor cursor = new FeedCursor(73, previous.description(), snapshot.advisories().size(), "Bottom", 3, 1, 1);
+
+        assertEquals(List.of(
+            new GameEvent.PlayCompleted(74, "Aaron Judge grounds out, shortstop Miguel Rojas to first baseman Freddie Freeman."),
+            new GameEvent.OutRecorded(2, 1)
+        ), GameDiff.between(snapshot.status(), cursor, snapshot, List.of()));
+    }
+
+    @Test
+    void findsAScoringPlayInANewHalfInning() throws IOException {
+        GameSnapshot snapshot = fixture();
+        GameSnapshot.Play previous = snapshot.play(70);
+        assertNotNull(previous);
+        // Posted after the last out of the top half, before the bottom half's leadoff single scored a run
+        FeedCursor cursor = new FeedCursor(70, previous.description(), snapshot.advisories().size(), "Top", 3, 0, 3);
+
+        List<GameEvent> events = GameDiff.between(snapshot.status(), cursor, snapshot, List.of());
+        assertEquals(List.of(
+            new GameEvent.PlayCompleted(74, "Aaron Judge grounds out, shortstop Miguel Rojas to first baseman Freddie Freeman."),
+            new GameEvent.RunsScored(3, 1, 0, 1),
+            new GameEvent.OutRecorded(2, 2),
+            new GameEvent.InningChanged("Bottom", "9th")
+        ), events);
+        assertTrue(((GameEvent.RunsScored) events.get(1)).homeTeamScored());
+    }
+
+    @Test
+    void findsANewAdvisory() throws IOException {
+        GameSnapshot snapshot = fixture();
+        int seen = snapshot.advisories().size() - 1;
+        List<GameSnapshot.Advisory> fresh = new AdvisoryIndex(seen).consume(snapshot.advisories());
+
+        List<GameEvent> events = GameDiff.between(snapshot.status(), FeedCursor.of(snapshot, seen), snapshot, fresh);
+        assertEquals(1, events.size());
+        GameSnapshot.Advisory advisory = ((GameEvent.Advisory) events.get(0)).advisory();
+        assertEquals(75, advisory.atBatIndex());
+        assertEquals("Mound Visit", advisory.event());
+    }
+
+    @Test
+    void findsAnInningChangeButNoBreaks() throws IOException {
+        GameSnapshot snapshot = fixture();
+        FeedCursor middle = new FeedCursor(snapshot.atBatIndex(), snapshot.currentPlayDescription(), snapshot.advisories().size(),
+            "Middle", snapshot.away().runs(), snapshot.home().runs(), snapshot.outs());
+
+        assertEquals(List.of(new GameEvent.InningChanged("Bottom", "9th")),
+            GameDiff.between(snapshot.status(), middle, snapshot, List.of()));
+
+        // Going from the bottom half to the end of the inning is a break, not a new half-inning
+        GameSnapshot.Inning end = patched("late-inning-pitch.json", "late-inning-final.json").inning();
+        assertEquals("End", end.state());
+        assertTrue(end.isBreak());
+    }
+
+    @Test
+    void findsTheFinalOutAndTheEndOfTheGame() throws IOException {
+        GameSnapshot before = patched("late-inning-pitch.json");
+        GameSnapshot after = patched("late-inning-pitch.json", "late-inning-final.json");
+
+        List<GameEvent> events = GameDiff.between(before.status(), posted(before), after, List.of());
+        assertEquals(List.of(
+            new GameEvent.StatusChanged(after.status()),
+            new GameEvent.GameFinal(),
+            new GameEvent.PlayCompleted(75, "Giancarlo Stanton strikes out swinging."),
+            new GameEvent.OutRecorded(3, 1)
+        ), events);
+        assertEquals("Final", ((GameEvent.StatusChanged) events.get(0)).status().detailedState());
+    }
+
+    @Test
+    void postsTheStatusAfterARestart() throws IOException {
+        GameSnapshot snapshot = fixture();
+
+        // Without a previous status, the current one is always posted first
+        assertEquals(List.of(new GameEvent.StatusChanged(snapshot.status())),
+            GameDiff.between(null, posted(snapshot), snapshot, List.of()));
+    }
+
+    private static FeedCursor posted(GameSnapshot snapshot) {
+        return FeedCursor.of(snapshot, snapshot.advisories().size());
+    }
+
+    private static GameSnapshot fixture() throws IOException {
+        return GameSnapshot.read(GAME_PK, document(), null, null);
+    }
+
+    /**
+     * Reads the late-inning feed with recorded diffPatch responses applied on top, in order.
+     *
+     * @param patches The patch files to apply
+     * @return the snapshot of the patched feed
+     */
+    private static GameSnapshot patched(String... patches) throws IOException {
+        JSONObject document = document();
+        for (String patch : patches) {
+            JSONArray sets = new JSONArray(resource("/feeds/patches/" + patch));
+            for (int i = 0; i < sets.length(); i++) {
+                document = JsonPatch.apply(document, sets.getJSONObject(i).getJSONArray("diff"));
+            }
+        }
+
+        return GameSnapshot.read(GAME_PK, document, null, null);
+    }
+
+    private static JSONObject document() throws IOException {
+        return new JSONObject(resource("/feeds/live-late-inning.json"));
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = GameDiffTest.class.getResourceAsStream(name)) {
+            assertNotNull(in, "Missing fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
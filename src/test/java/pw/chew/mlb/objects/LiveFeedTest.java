@@ -0,0 +1,217 @@
+package pw.chew.mlb.objects;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link LiveFeed} in incremental mode against a local stub, which serves the late-inning feed in full and then
+ * the recorded diffPatch responses it's given, in order.
+ */
+class LiveFeedTest {
+    private static final String GAME_PK = "775296";
+    private static final String FULL = "/feeds/live-late-inning.json";
+
+    private static HttpServer server;
+    private static String baseUrl;
+    private static final List<String> requests = new ArrayList<>();
+    private static final Deque<Reply> patches = new ArrayDeque<>();
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1.1/game/" + GAME_PK + "/feed/live", LiveFeedTest::handle);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        LiveFeed.forget(GAME_PK);
+    }
+
+    @BeforeEach
+    void reset() {
+        synchronized (requests) {
+            requests.clear();
+            patches.clear();
+        }
+    }
+
+    @Test
+    void appliesPatchesToTheHeldFeed() {
+        LiveFeed feed = newFeed();
+        GameSnapshot full = feed.fetch();
+        assertNotNull(full);
+        assertEquals("20241030_035312", full.timecode());
+        assertEquals(74, full.atBatIndex());
+
+        serve(200, "late-inning-pitch.json");
+        GameSnapshot pitch = feed.fetch();
+        assertNotNull(pitch);
+        assertEquals("20241030_035326", pitch.timecode());
+        assertEquals("In Progress", pitch.status().detailedState());
+        assertEquals(74, pitch.atBatIndex());
+        assertEquals(2, pitch.outs());
+
+        assertEquals(List.of(
+            "/api/v1.1/game/775296/feed/live?language=en",
+            "/api/v1.1/game/775296/feed/live/diffPatch?language=en&startTimecode=20241030_035312"
+        ), requests());
+    }
+
+    @Test
+    void appliesEveryPatchSetInOrder() {
+        LiveFeed feed = newFeed();
+        feed.fetch();
+        serve(200, "late-inning-pitch.json");
+        feed.fetch();
+
+        serve(200, "late-inning-final.json");
+        GameSnapshot last = feed.fetch();
+        assertNotNull(last);
+        assertEquals("20241030_035402", last.timecode());
+        assertTrue(last.status().isFinal());
+        assertEquals(3, last.outs());
+
+        // The in-progress play was completed by the first patch set, the second one cleared the bases
+        assertEquals(75, last.atBatIndex());
+        assertEquals("strikeout", last.lastPlay().eventType());
+        assertEquals("Giancarlo Stanton strikes out swinging.", last.currentPlayDescription());
+        assertNotNull(last.matchup());
+        assertNull(last.matchup().onFirst());
+
+        assertEquals("/api/v1.1/game/775296/feed/live/diffPatch?language=en&startTimecode=20241030_035326", requests().get(2));
+    }
+
+    @Test
+    void fetchesTheFullFeedWhenTheChainBreaks() {
+        LiveFeed feed = newFeed();
+        feed.fetch();
+
+        serve(200, "late-inning-broken.json");
+        GameSnapshot snapshot = feed.fetch();
+        assertNotNull(snapshot);
+        // Nothing of the broken patch made it in, the feed is the full one again
+        assertEquals("20241030_035312", snapshot.timecode());
+        assertEquals("20241030_035312", feed.timecode());
+        assertEquals(74, snapshot.atBatIndex());
+
+        // The next patches start from the full feed, and still apply
+        serve(200, "late-inning-pitch.json");
+        GameSnapshot pitch = feed.fetch();
+        assertNotNull(pitch);
+        assertEquals("20241030_035326", pitch.timecode());
+
+        assertEquals(List.of(
+            "/api/v1.1/game/775296/feed/live?language=en",
+            "/api/v1.1/game/775296/feed/live/diffPatch?language=en&startTimecode=20241030_035312",
+            "/api/v1.1/game/775296/feed/live?language=en",
+            "/api/v1.1/game/775296/feed/live/diffPatch?language=en&startTimecode=20241030_035312"
+        ), requests());
+    }
+
+    @Test
+    void fetchesTheFullFeedWhenPatchesFail() {
+        LiveFeed feed = newFeed();
+        feed.fetch();
+
+        serve(500, null);
+        GameSnapshot snapshot = feed.fetch();
+        assertNotNull(snapshot);
+        assertEquals("20241030_035312", snapshot.timecode());
+        assertEquals(3, requests().size());
+        assertFalse(requests().get(2).contains("diffPatch"));
+    }
+
+    @Test
+    void takesAFullFeedInsteadOfPatches() {
+        LiveFeed feed = newFeed();
+        feed.fetch();
+        feed.fetch();
+
+        // MLB sends the whole feed when the timecode is too old, the diffPatch response is used as is
+        serve(200, null);
+        GameSnapshot snapshot = feed.fetch();
+        assertNotNull(snapshot);
+        assertEquals("20241030_035312", snapshot.timecode());
+        assertEquals(3, requests().size());
+        assertTrue(requests().get(2).contains("diffPatch"));
+    }
+
+    private static LiveFeed newFeed() {
+        return new LiveFeed(GAME_PK, baseUrl, true, false, new AdvisoryIndex());
+    }
+
+    /**
+     * Queues the next diffPatch response.
+     *
+     * @param code The status code
+     * @param patch The recorded patch file to send, or null to send the full feed
+     */
+    private static void serve(int code, String patch) {
+        synchronized (requests) {
+            patches.add(new Reply(code, patch == null ? FULL : "/feeds/patches/" + patch));
+        }
+    }
+
+    private static List<String> requests() {
+        synchronized (requests) {
+            return List.copyOf(requests);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getRawQuery();
+
+        Reply reply;
+        synchronized (requests) {
+            requests.add(path + (query == null ? "" : "?" + query));
+            if (path.endsWith("/diffPatch")) {
+                reply = patches.isEmpty() ? new Reply(200, "/feeds/patches/empty.json") : patches.poll();
+            } else {
+                reply = new Reply(200, FULL);
+            }
+        }
+
+        byte[] body = reply.code == 200 ? resource(reply.file) : "{\"message\": \"Internal error\"}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(reply.code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] resource(String name) throws IOException {
+        try (InputStream in = LiveFeedTest.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    private record Reply(int code, String file) {
+    }
+}
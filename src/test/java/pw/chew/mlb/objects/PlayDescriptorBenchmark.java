@@ -0,0 +1,91 @@
+package pw.chew.mlb.objects;
+
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the heap a delayed play send or homer lookup keeps alive: the {@link PlayDescriptor} it holds now, against
+ * the whole {@link GameSnapshot} of the late-inning feed it used to hold.
+ * <br>
+ * Retained bytes are measured by keeping a few hundred copies alive and comparing the used heap after a GC, with and
+ * without them. The embed is kept either way, so every descriptor shares one. Tagged "benchmark", so it only runs with
+ * {@code ./gradlew benchmark}.
+ */
+class PlayDescriptorBenchmark {
+    private static final String FIXTURE = "/feeds/live-late-inning.json";
+    private static final int COPIES = 300;
+
+    @Test
+    @Tag("benchmark")
+    void retainsLessThanTheSnapshot() throws IOException {
+        byte[] feed = fixture();
+        GameSnapshot latest = read(feed);
+        MessageEmbed embed = new EmbedBuilder().setDescription(latest.currentPlayDescription()).build();
+
+        // Every snapshot gets a store of its own, like every game does
+        long snapshot = retainedBytes(() -> read(feed));
+        long descriptor = retainedBytes(() -> PlayDescriptor.of(read(feed), embed, false));
+
+        assertTrue(descriptor * 10 < snapshot, "A descriptor retains " + descriptor + " bytes, a snapshot of "
+            + latest.plays().size() + " plays " + snapshot);
+    }
+
+    /**
+     * Measures how much heap one object retains.
+     *
+     * @param create Creates a new object, along with anything it holds on to
+     * @return the retained bytes per object, averaged over {@link #COPIES} objects
+     */
+    static long retainedBytes(Supplier<?> create) {
+        Object[] kept = new Object[COPIES];
+        long before = usedAfterGc();
+        for (int i = 0; i < COPIES; i++) {
+            kept[i] = create.get();
+        }
+        long after = usedAfterGc();
+        Reference.reachabilityFence(kept);
+
+        return Math.max(0, after - before) / COPIES;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // A few rounds, so whatever the last one freed is gone too
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+
+        return used;
+    }
+
+    private static GameSnapshot read(byte[] feed) {
+        return GameSnapshot.read("775296", new InputStreamReader(new ByteArrayInputStream(feed), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] fixture() throws IOException {
+        try (InputStream in = PlayDescriptorBenchmark.class.getResourceAsStream(FIXTURE)) {
+            assertNotNull(in, "Missing fixture " + FIXTURE);
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package pw.chew.mlb.objects;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares reading a late-inning live feed into a {@link GameSnapshot} against building the whole document like the
+ * bot used to, by bytes allocated and time taken per feed.
+ * <br>
+ * The reads themselves are checked with the other tests. The comparisons are tagged "benchmark", so they only run
+ * with {@code ./gradlew benchmark}, and report what they measured when they fail.
+ */
+class SnapshotReaderBenchmark {
+    private static final String FIXTURE = "/feeds/live-late-inning.json";
+    private static final int WARMUP = 30;
+    private static final int ROUNDS = 100;
+
+    @Test
+    void readsTheFixture() throws IOException {
+        GameSnapshot snapshot = GameSnapshot.read("775296", reader(fixture()));
+
+        assertEquals("In Progress", snapshot.status().detailedState());
+        assertEquals("LAD", snapshot.away().abbreviation());
+        assertEquals("Bottom", snapshot.inning().state());
+        assertEquals(74, snapshot.atBatIndex());
+        assertEquals(4, snapshot.scoringPlays().size());
+        assertEquals(5, snapshot.advisories().size());
+        assertNotNull(snapshot.matchup());
+        assertEquals("20241030_035312", snapshot.timecode());
+
+        // The lineups come out of the same response, nothing requests the feed again for them
+        GameSnapshot.Lineup away = snapshot.lineup("away");
+        assertEquals(9, away.battingOrder().size());
+        assertEquals("Mookie Betts", away.battingOrder().get(0).name());
+        assertEquals(".833", away.battingOrder().get(0).ops());
+        assertNotNull(away.probablePitcher());
+        assertEquals(669373, away.probablePitcher().id());
+        assertEquals("Anthony Volpe", snapshot.lineup("home").battingOrder().get(0).name());
+    }
+
+    @Test
+    void readsTheSameFromTheTree() throws IOException {
+        byte[] feed = fixture();
+        GameSnapshot streamed = GameSnapshot.read("775296", reader(feed));
+        GameSnapshot walked = GameSnapshot.read("775296", new JSONObject(new String(feed, StandardCharsets.UTF_8)), null, null);
+
+        assertEquals(streamed.status(), walked.status());
+        assertEquals(streamed.away(), walked.away());
+        assertEquals(streamed.home(), walked.home());
+        assertEquals(streamed.inning(), walked.inning());
+        assertEquals(streamed.matchup(), walked.matchup());
+        assertEquals(streamed.lastPlay(), walked.lastPlay());
+        assertEquals(streamed.scoringPlays(), walked.scoringPlays());
+        assertEquals(streamed.advisories(), walked.advisories());
+        assertEquals(streamed.awayLineup(), walked.awayLineup());
+        assertEquals(streamed.homeLineup(), walked.homeLineup());
+        assertEquals(streamed.timecode(), walked.timecode());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void allocatesLessThanTheTree() throws IOException {
+        byte[] feed = fixture();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Result tree = measure(threads, () -> new JSONObject(new String(feed, StandardCharsets.UTF_8)));
+        Result streamed = measure(threads, () -> GameSnapshot.read("775296", reader(feed)));
+
+        assertTrue(streamed.bytes < tree.bytes, "Late-inning feed, %d KB: tree %d KB / %.2f ms, streamed %d KB / %.2f ms per read"
+            .formatted(feed.length / 1024, tree.bytes / 1024, tree.millis, streamed.bytes / 1024, streamed.millis));
+    }
+
+    @Test
+    void readsBodiesIntoOneBufferPerThread() throws Exception {
+        byte[] feed = fixture();
+        LiveFeed.Body first = LiveFeed.readBody(new ByteArrayInputStream(feed));
+        LiveFeed.Body second = LiveFeed.readBody(new ByteArrayInputStream(feed));
+        assertEquals(feed.length, second.length());
+        assertEquals(first.hash(), second.hash());
+        assertSame(first.bytes(), second.bytes());
+        assertTrue(first.bytes().length < feed.length * 2, "Buffer of " + first.bytes().length + " bytes");
+
+        // Every poller thread has a buffer of its own, however many games it polls
+        AtomicReference<byte[]> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                other.set(LiveFeed.readBody(new ByteArrayInputStream(feed)).bytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotNull(other.get());
+        assertNotSame(first.bytes(), other.get());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void readsBodiesWithoutAllocatingThem() throws IOException {
+        byte[] feed = fixture();
+        LiveFeed.Body first = LiveFeed.readBody(new ByteArrayInputStream(feed));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // Once the thread's buffer fits the feed, reading a body doesn't allocate another copy of it
+        Result body = measure(threads, () -> {
+            try {
+                LiveFeed.readBody(new ByteArrayInputStream(feed));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertTrue(body.bytes < 1024, "Reading a body allocated " + body.bytes + " bytes, the buffer is "
+            + first.bytes().length + " bytes for a feed of " + feed.length);
+    }
+
+    private static Result measure(com.sun.management.ThreadMXBean threads, Runnable read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.run();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            read.run();
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+
+        return new Result(bytes / ROUNDS, nanos / 1e6 / ROUNDS);
+    }
+
+    private static InputStreamReader reader(byte[] feed) {
+        return new InputStreamReader(new ByteArrayInputStream(feed), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] fixture() throws IOException {
+        try (InputStream in = SnapshotReaderBenchmark.class.getResourceAsStream(FIXTURE)) {
+            assertNotNull(in, "Missing fixture " + FIXTURE);
+            return in.readAllBytes();
+        }
+    }
+
+    private record Result(long bytes, double millis) {
+    }
+}
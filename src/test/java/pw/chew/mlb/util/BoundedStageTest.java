@@ -0,0 +1,52 @@
+package pw.chew.mlb.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedStageTest {
+    @Test
+    void givesUpWhenALaneStaysFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handled = new ArrayList<>();
+        BoundedStage<String> stage = new BoundedStage<>("BoundedStageTest", 1, 2, item -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (handled) {
+                handled.add(item);
+            }
+        });
+
+        // The worker holds the first item, the next two fill the lane
+        assertTrue(stage.submit("775296", "a", Duration.ZERO));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(stage.submit("775296", "b", Duration.ZERO));
+        assertTrue(stage.submit("775296", "c", Duration.ZERO));
+
+        long start = System.nanoTime();
+        assertFalse(stage.submit("775296", "d", Duration.ofMillis(50)));
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waited >= 40 && waited < 2000, "Waited " + waited + " ms");
+
+        // Once there's room again, items go through in order
+        release.countDown();
+        assertTrue(stage.submit("775296", "d", Duration.ofSeconds(5)));
+        stage.shutdown(Duration.ofSeconds(5));
+        synchronized (handled) {
+            assertEquals(List.of("a", "b", "c", "d"), handled);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonPatchTest {
+    private static final String DOCUMENT = """
+        {"liveData": {"plays": {"allPlays": ["a", "b", "c"], "scoringPlays": [1]}, "linescore": {"outs": 1}},
+         "gameData": {"status": {"detailedState": "In Progress"}, "a/b": 1, "m~n": 2}}""";
+
+    @Test
+    void addsIntoArraysShiftingTheRest() {
+        JSONObject patched = apply(DOCUMENT, """
+            [{"op": "add", "path": "/liveData/plays/allPlays/1", "value": "x"},
+             {"op": "add", "path": "/liveData/plays/allPlays/0", "value": "first"},
+             {"op": "add", "path": "/liveData/plays/allPlays/5", "value": "last"},
+             {"op": "add", "path": "/liveData/plays/allPlays/-", "value": "appended"}]""");
+
+        assertEquals(new JSONArray("[\"first\", \"a\", \"x\", \"b\", \"c\", \"last\", \"appended\"]").toList(),
+            allPlays(patched).toList());
+    }
+
+    @Test
+    void removesFromArraysShiftingTheRest() {
+        JSONObject patched = apply(DOCUMENT, """
+            [{"op": "remove", "path": "/liveData/plays/allPlays/0"},
+             {"op": "remove", "path": "/liveData/plays/allPlays/1"}]""");
+
+        assertEquals(new JSONArray("[\"b\"]").toList(), allPlays(patched).toList());
+    }
+
+    @Test
+    void replacesMovesAndCopies() {
+        JSONObject patched = apply(DOCUMENT, """
+            [{"op": "replace", "path": "/gameData/status/detailedState", "value": "Final"},
+             {"op": "move", "from": "/liveData/plays/allPlays/2", "path": "/liveData/plays/allPlays/0"},
+             {"op": "copy", "from": "/liveData/linescore", "path": "/liveData/copied"},
+             {"op": "replace", "path": "/gameData/a~1b", "value": 10},
+             {"op": "remove", "path": "/gameData/m~0n"},
+             {"op": "test", "path": "/liveData/copied/outs", "value": 1.0}]""");
+
+        assertEquals("Final", patched.getJSONObject("gameData").getJSONObject("status").getString("detailedState"));
+        assertEquals(new JSONArray("[\"c\", \"a\", \"b\"]").toList(), allPlays(patched).toList());
+        assertEquals(1, patched.getJSONObject("liveData").getJSONObject("copied").getInt("outs"));
+        assertEquals(10, patched.getJSONObject("gameData").getInt("a/b"));
+        assertFalse(patched.getJSONObject("gameData").has("m~n"));
+    }
+
+    @Test
+    void keepsCopiesApartFromTheirSource() {
+        JSONObject original = new JSONObject(DOCUMENT);
+        JSONObject patched = JsonPatch.apply(original, new JSONArray("""
+            [{"op": "replace", "path": "/liveData/linescore/outs", "value": 2},
+             {"op": "copy", "from": "/liveData/linescore", "path": "/liveData/copied"},
+             {"op": "replace", "path": "/liveData/copied/outs", "value": 3},
+             {"op": "copy", "from": "/liveData/plays", "path": "/liveData/playsCopy"},
+             {"op": "add", "path": "/liveData/playsCopy/allPlays/-", "value": "d"},
+             {"op": "replace", "path": "/liveData/linescore/outs", "value": 0}]"""));
+
+        JSONObject liveData = patched.getJSONObject("liveData");
+        assertEquals(0, liveData.getJSONObject("linescore").getInt("outs"));
+        assertEquals(3, liveData.getJSONObject("copied").getInt("outs"));
+        assertEquals(new JSONArray("[\"a\", \"b\", \"c\"]").toList(), allPlays(patched).toList());
+        assertEquals(new JSONArray("[\"a\", \"b\", \"c\", \"d\"]").toList(),
+            liveData.getJSONObject("playsCopy").getJSONArray("allPlays").toList());
+        assertTrue(original.similar(new JSONObject(DOCUMENT)));
+    }
+
+    @Test
+    void leavesTheOriginalAlone() {
+        JSONObject original = new JSONObject(DOCUMENT);
+
+        JSONObject patched = JsonPatch.apply(original, new JSONArray("""
+            [{"op": "add", "path": "/liveData/plays/allPlays/0", "value": "x"},
+             {"op": "remove", "path": "/liveData/plays/allPlays/3"},
+             {"op": "replace", "path": "/liveData/linescore/outs", "value": 2},
+             {"op": "add", "path": "/liveData/plays/scoringPlays/-", "value": 2}]"""));
+
+        assertTrue(original.similar(new JSONObject(DOCUMENT)));
+        assertEquals(new JSONArray("[\"x\", \"a\", \"b\"]").toList(), allPlays(patched).toList());
+        assertEquals(2, patched.getJSONObject("liveData").getJSONObject("linescore").getInt("outs"));
+
+        // Only the containers along patched paths are copied, the rest is shared
+        assertNotSame(original.getJSONObject("liveData"), patched.getJSONObject("liveData"));
+        assertSame(original.getJSONObject("gameData"), patched.getJSONObject("gameData"));
+    }
+
+    @Test
+    void keepsPatchesOfTheSameDocumentApart() {
+        JSONObject original = new JSONObject(DOCUMENT);
+        JSONObject first = JsonPatch.apply(original, new JSONArray("""
+            [{"op": "add", "path": "/liveData/plays/allPlays/-", "value": "first"}]"""));
+        JSONObject second = JsonPatch.apply(original, new JSONArray("""
+            [{"op": "add", "path": "/liveData/plays/allPlays/-", "value": "second"}]"""));
+        JSONObject third = JsonPatch.apply(first, new JSONArray("""
+            [{"op": "remove", "path": "/liveData/plays/allPlays/0"}]"""));
+
+        assertEquals(3, allPlays(original).length());
+        assertEquals("first", allPlays(first).getString(3));
+        assertEquals(4, allPlays(first).length());
+        assertEquals("second", allPlays(second).getString(3));
+        assertEquals(new JSONArray("[\"b\", \"c\", \"first\"]").toList(), allPlays(third).toList());
+    }
+
+    @Test
+    void rejectsPatchesThatDontFit() {
+        assertPatchFails("[{\"op\": \"replace\", \"path\": \"/liveData/plays/allPlays/3\", \"value\": \"x\"}]");
+        assertPatchFails("[{\"op\": \"add\", \"path\": \"/liveData/plays/allPlays/4\", \"value\": \"x\"}]");
+        assertPatchFails("[{\"op\": \"remove\", \"path\": \"/liveData/plays/allPlays/-1\"}]");
+        assertPatchFails("[{\"op\": \"remove\", \"path\": \"/liveData/plays/allPlays/one\"}]");
+        assertPatchFails("[{\"op\": \"replace\", \"path\": \"/liveData/missing/outs\", \"value\": 1}]");
+        assertPatchFails("[{\"op\": \"remove\", \"path\": \"/gameData/missing\"}]");
+        assertPatchFails("[{\"op\": \"add\", \"path\": \"/gameData/a~1b/c\", \"value\": 1}]");
+        assertPatchFails("[{\"op\": \"test\", \"path\": \"/liveData/linescore/outs\", \"value\": 2}]");
+        assertPatchFails("[{\"op\": \"replace\", \"path\": \"\", \"value\": [1]}]");
+        assertPatchFails("[{\"op\": \"remove\", \"path\": \"\"}]");
+        assertPatchFails("[{\"op\": \"replace\", \"path\": \"liveData\", \"value\": 1}]");
+        assertPatchFails("[{\"op\": \"add\", \"path\": \"/gameData/x\"}]");
+        assertPatchFails("[{\"op\": \"swap\", \"path\": \"/gameData\"}]");
+        assertPatchFails("[\"replace\"]");
+    }
+
+    @Test
+    void leavesTheOriginalAloneWhenAPatchFails() {
+        JSONObject original = new JSONObject(DOCUMENT);
+
+        assertThrows(JsonPatch.PatchException.class, () -> JsonPatch.apply(original, new JSONArray("""
+            [{"op": "remove", "path": "/liveData/plays/allPlays/0"},
+             {"op": "replace", "path": "/liveData/plays/allPlays/7", "value": "x"}]""")));
+        assertTrue(original.similar(new JSONObject(DOCUMENT)));
+    }
+
+    private static JSONObject apply(String document, String operations) {
+        return JsonPatch.apply(new JSONObject(document), new JSONArray(operations));
+    }
+
+    private static JSONArray allPlays(JSONObject document) {
+        return document.getJSONObject("liveData").getJSONObject("plays").getJSONArray("allPlays");
+    }
+
+    private static void assertPatchFails(String operations) {
+        assertThrows(JsonPatch.PatchException.class, () -> apply(DOCUMENT, operations), operations);
+    }
+}
@@ -0,0 +1,205 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonPullParserTest {
+    private static final String DOCUMENT = """
+        {"name": "Shohei \\"Sho\\" Ohtani", "id": 660271, "avg": -0.5e-1, "active": true, "team": null,
+         "stats": [{"hr": 54, "sb": 59}, [], {}, ["a\\\\b", 1E3]], "note": "caf\\u00e9"}""";
+
+    @Test
+    void readsObjectsAndArrays() {
+        JsonPullParser json = new JsonPullParser(DOCUMENT);
+        json.beginObject();
+        assertEquals("name", json.nextName());
+        assertEquals("Shohei \"Sho\" Ohtani", json.nextString());
+        assertEquals("id", json.nextName());
+        assertEquals(660271, json.nextInt());
+        assertEquals("avg", json.nextName());
+        assertEquals(-0.05, json.nextDouble(), 1e-9);
+        assertEquals("active", json.nextName());
+        assertTrue(json.nextBoolean());
+        assertEquals("team", json.nextName());
+        assertTrue(json.skipNull());
+        assertEquals("stats", json.nextName());
+        json.beginArray();
+        json.beginObject();
+        assertEquals("hr", json.nextName());
+        assertEquals(54, json.nextInt());
+        assertEquals("sb", json.nextName());
+        assertEquals(59, json.nextInt());
+        assertFalse(json.hasNext());
+        json.endObject();
+        json.beginArray();
+        json.endArray();
+        json.beginObject();
+        json.endObject();
+        json.beginArray();
+        assertEquals("a\\b", json.nextString());
+        assertEquals(1000, json.nextInt());
+        json.endArray();
+        json.endArray();
+        assertEquals("note", json.nextName());
+        assertEquals("café", json.nextString());
+        json.endObject();
+        assertEquals(JsonPullParser.Token.END_DOCUMENT, json.peek());
+    }
+
+    @Test
+    void readsEveryEscape() {
+        JsonPullParser json = new JsonPullParser("[\"\\\"\\\\\\/\\b\\f\\n\\r\\t\"]");
+        json.beginArray();
+        assertEquals("\"\\/\b\f\n\r\t", json.nextString());
+        json.endArray();
+    }
+
+    @Test
+    void readsSurrogatePairs() {
+        JsonPullParser json = new JsonPullParser("[\"\\uD83D\\uDE00 walk-off\", \"\\u26be\"]");
+        json.beginArray();
+        String grin = json.nextString();
+        assertEquals("\uD83D\uDE00 walk-off", grin);
+        assertEquals(0x1F600, grin.codePointAt(0));
+        assertEquals("\u26be", json.nextString());
+        json.endArray();
+    }
+
+    @Test
+    void readsEscapesAcrossTheBuffer() {
+        // Long enough that the string can't be read in one go out of the buffer
+        String filler = "x".repeat(10_000);
+        JsonPullParser json = new JsonPullParser(new StringReader("[\"" + filler + "\\u00e9\\\"\"]"));
+        json.beginArray();
+        assertEquals(filler + "é\"", json.nextString());
+        json.endArray();
+    }
+
+    @Test
+    void readsNumbers() {
+        JsonPullParser json = new JsonPullParser("[-42, 0, 12.9, -3.5E2, 2e+2, 1.5e-3, \"7\", 99999999999]");
+        json.beginArray();
+        assertEquals(-42, json.nextInt());
+        assertEquals(0, json.nextInt());
+        // Decimals are cut off
+        assertEquals(12, json.nextInt());
+        assertEquals(-350.0, json.nextDouble(), 1e-9);
+        assertEquals(200, json.nextInt());
+        assertEquals(0.0015, json.nextDouble(), 1e-12);
+        // Numbers in strings, like the ones MLB sends for runs
+        assertEquals(7, json.nextInt());
+        assertEquals("99999999999", json.nextString());
+        json.endArray();
+    }
+
+    @Test
+    void rejectsBadNumbers() {
+        JsonPullParser json = new JsonPullParser("[1-2]");
+        json.beginArray();
+        assertThrows(JSONException.class, json::nextInt);
+    }
+
+    @Test
+    void skipsNestedValues() {
+        JsonPullParser json = new JsonPullParser("""
+            {"skip": {"a": [1, {"b": "}]\\" [{"}, [[[]]]], "c": null, "d": {"e": {"f": [true, false]}}},
+             "string": "{[", "number": -1.5e3, "keep": 5}""");
+        json.beginObject();
+        assertEquals("skip", json.nextName());
+        json.skipValue();
+        assertEquals("string", json.nextName());
+        json.skipValue();
+        assertEquals("number", json.nextName());
+        json.skipValue();
+        assertEquals("keep", json.nextName());
+        assertEquals(5, json.nextInt());
+        json.endObject();
+        assertEquals(JsonPullParser.Token.END_DOCUMENT, json.peek());
+    }
+
+    @Test
+    void skipsNameAndValue() {
+        JsonPullParser json = new JsonPullParser("{\"skip\": [1, 2], \"keep\": \"yes\"}");
+        json.beginObject();
+        json.skipValue();
+        assertEquals("keep", json.nextName());
+        assertEquals("yes", json.nextString());
+        json.endObject();
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        // Every cut short version of the document has to fail cleanly, reading or skipping it
+        for (int length = 0; length < DOCUMENT.length(); length++) {
+            String truncated = DOCUMENT.substring(0, length);
+            assertThrows(JSONException.class, () -> readAll(new JsonPullParser(truncated)), "Read " + length + " characters");
+            assertThrows(JSONException.class, () -> skipAll(new JsonPullParser(truncated)), "Skipped " + length + " characters");
+        }
+
+        readAll(new JsonPullParser(DOCUMENT));
+        skipAll(new JsonPullParser(DOCUMENT));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThrows(JSONException.class, () -> readAll(new JsonPullParser("{\"a\": 1 \"b\": 2}")));
+        assertThrows(JSONException.class, () -> readAll(new JsonPullParser("{\"a\" 1}")));
+        assertThrows(JSONException.class, () -> readAll(new JsonPullParser("[1 2]")));
+        assertThrows(JSONException.class, () -> readAll(new JsonPullParser("{\"a\": \"\\x\"}")));
+        assertThrows(JSONException.class, () -> readAll(new JsonPullParser("{\"a\": \"\\u12g4\"}")));
+        assertThrows(JSONException.class, () -> readAll(new JsonPullParser("{\"a\": nul}")));
+        assertThrows(JSONException.class, () -> readAll(new JsonPullParser("{} {}")));
+    }
+
+    /**
+     * Reads every value of a document, then expects it to end.
+     */
+    private static void readAll(JsonPullParser json) {
+        readValue(json);
+        if (json.peek() != JsonPullParser.Token.END_DOCUMENT) {
+            throw new AssertionError("Document didn't end");
+        }
+    }
+
+    /**
+     * Skips the whole document, then expects it to end.
+     */
+    private static void skipAll(JsonPullParser json) {
+        json.skipValue();
+        if (json.peek() != JsonPullParser.Token.END_DOCUMENT) {
+            throw new AssertionError("Document didn't end");
+        }
+    }
+
+    private static void readValue(JsonPullParser json) {
+        switch (json.peek()) {
+            case BEGIN_OBJECT -> {
+                json.beginObject();
+                while (json.hasNext()) {
+                    json.nextName();
+                    readValue(json);
+                }
+                json.endObject();
+            }
+            case BEGIN_ARRAY -> {
+                json.beginArray();
+                while (json.hasNext()) {
+                    readValue(json);
+                }
+                json.endArray();
+            }
+            case STRING -> json.nextString();
+            case NUMBER -> json.nextDouble();
+            case BOOLEAN -> json.nextBoolean();
+            case NULL -> json.nextNull();
+            default -> throw new AssertionError("Unexpected " + json.peek());
+        }
+    }
+}
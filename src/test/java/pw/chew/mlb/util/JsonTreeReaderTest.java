@@ -0,0 +1,67 @@
+package pw.chew.mlb.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonTreeReaderTest {
+    @Test
+    void walksObjectsAndArrays() {
+        JsonTreeReader json = new JsonTreeReader(new JSONObject("""
+            {"stats": [{"hr": 54}, [], "7", 12.9, true, null], "team": null}"""));
+        json.beginObject();
+        // Names come out in whatever order the object holds them
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "stats" -> {
+                    json.beginArray();
+                    json.beginObject();
+                    assertEquals("hr", json.nextName());
+                    assertEquals(54, json.nextInt());
+                    assertFalse(json.hasNext());
+                    json.endObject();
+                    json.beginArray();
+                    json.endArray();
+                    assertEquals(7, json.nextInt());
+                    assertEquals(12, json.nextInt());
+                    assertTrue(json.nextBoolean());
+                    assertTrue(json.skipNull());
+                    json.endArray();
+                }
+                case "team" -> json.nextNull();
+                default -> throw new AssertionError("Unexpected name");
+            }
+        }
+        json.endObject();
+        assertEquals(JsonPullParser.Token.END_DOCUMENT, json.peek());
+    }
+
+    @Test
+    void skipsWholeValues() {
+        JsonTreeReader json = new JsonTreeReader(new JSONObject("{\"skip\": {\"a\": [1, {\"b\": []}]}}"));
+        json.beginObject();
+        assertEquals(JsonPullParser.Token.NAME, json.peek());
+        json.skipValue();
+        assertFalse(json.hasNext());
+        json.endObject();
+        assertEquals(JsonPullParser.Token.END_DOCUMENT, json.peek());
+    }
+
+    @Test
+    void rejectsTheWrongToken() {
+        JsonTreeReader json = new JsonTreeReader(new JSONObject("{\"a\": [1]}"));
+        assertThrows(JSONException.class, json::beginArray);
+        json.beginObject();
+        json.nextName();
+        assertThrows(JSONException.class, json::nextString);
+        json.beginArray();
+        assertThrows(JSONException.class, json::endObject);
+        json.skipValue();
+        assertThrows(JSONException.class, json::skipValue);
+    }
+}
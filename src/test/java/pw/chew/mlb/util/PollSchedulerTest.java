@@ -0,0 +1,101 @@
+package pw.chew.mlb.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollSchedulerTest {
+    @Test
+    void neverRunsATaskTwiceWhenWokenAsItStarts() throws InterruptedException {
+        PollScheduler scheduler = new PollScheduler("PollSchedulerTest", 4);
+        AtomicInteger runningNow = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+
+        scheduler.schedule("775296", () -> {
+            if (runningNow.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            runs.incrementAndGet();
+            runningNow.decrementAndGet();
+            return Duration.ofHours(1);
+        }, Duration.ofHours(1));
+
+        // Every wake lands somewhere around a run that is starting, running, or just done
+        for (int i = 0; i < 50_000; i++) {
+            scheduler.wake("775296");
+        }
+        waitForRuns(scheduler);
+
+        assertEquals(0, overlaps.get());
+        assertTrue(runs.get() > 0);
+        // Exactly one run is left, so the task isn't polled twice over from now on
+        assertEquals(1, scheduler.pendingRuns());
+        scheduler.shutdown(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void runsAgainRightAfterAWakeDuringARun() throws InterruptedException {
+        PollScheduler scheduler = new PollScheduler("PollSchedulerTest", 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(2);
+        AtomicInteger runs = new AtomicInteger();
+
+        scheduler.schedule("775297", () -> {
+            if (runs.incrementAndGet() == 1) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            second.countDown();
+            return Duration.ofHours(1);
+        }, Duration.ofHours(1));
+
+        scheduler.wake("775297");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scheduler.wake("775297");
+        release.countDown();
+
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+        waitForRuns(scheduler);
+        assertEquals(2, runs.get());
+        assertEquals(1, scheduler.pendingRuns());
+        scheduler.shutdown(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void spreadsTasksOverTheirInterval() {
+        Duration interval = Duration.ofMinutes(5);
+        long latest = 0;
+        for (int gamePk = 775000; gamePk < 775300; gamePk++) {
+            Duration offset = PollScheduler.phaseOffset(String.valueOf(gamePk), interval);
+            assertTrue(!offset.isNegative() && offset.compareTo(interval) < 0, "Offset " + offset);
+            assertEquals(offset, PollScheduler.phaseOffset(String.valueOf(gamePk), interval));
+            latest = Math.max(latest, offset.toMillis());
+        }
+
+        // Spread over the whole interval, not just the first few seconds
+        assertTrue(latest > interval.toMillis() / 2, "Latest offset " + latest);
+    }
+
+    /**
+     * Waits until the woken runs went through and only the next hourly run is left.
+     */
+    private static void waitForRuns(PollScheduler scheduler) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.pendingRuns() != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+    }
+}